@@ -0,0 +1,31 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// JMH's own runner, but results always land as JSON named after the benchmarked backend version,
+// so runs of different releases can be diffed. Accepts the usual JMH arguments, e.g. "Jwt -f 2".
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResult().hasValue()) {
+            String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+            Path result = Path.of("target", "jmh-results", "jmh-" + (version == null ? "dev" : version) + ".json");
+            Files.createDirectories(result.getParent());
+            options.result(result.toString());
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
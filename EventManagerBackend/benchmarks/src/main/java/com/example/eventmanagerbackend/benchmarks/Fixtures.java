@@ -0,0 +1,63 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import com.example.eventmanagerbackend.entity.Booking;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.BookingStatus;
+import com.example.eventmanagerbackend.enums.EventCategory;
+import com.example.eventmanagerbackend.enums.Role;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic entities shaped like production data
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static User user(int index) {
+        User user = new User();
+        user.setId("user-" + index);
+        user.setFullName("Participant " + index);
+        user.setEmail("participant" + index + "@example.com");
+        user.setPassword("$2a$10$q1sguWkBICANA3tYqlEnluZm9jbdMDxS5vlUhVaqp54Kuzu/LHBte");
+        user.setRole(Role.MEMBER);
+        return user;
+    }
+
+    static Event event(int index, int participants) {
+        Event event = new Event();
+        event.setId("event-" + index);
+        event.setTitle("Open air concert #" + index);
+        event.setDescription("An evening of live music in the park, food trucks and a late night DJ set.");
+        event.setEventDate(LocalDate.of(2027, 1, 1).plusDays(index));
+        event.setStartTime(LocalTime.of(18, 0));
+        event.setEndTime(LocalTime.of(23, 30));
+        event.setCity("Paris");
+        event.setLocation("Parc de la Villette");
+        event.setCategory(EventCategory.CONCERT);
+        event.setPrice(39.9f);
+        event.setMaxParticipants(Math.max(participants, 100));
+        event.setCurrentParticipants(participants);
+        event.setAverageRating(4.2f);
+        event.setRatingCount(125);
+        event.setOrganizer(user(-1));
+
+        List<Booking> bookings = new ArrayList<>(participants);
+        for (int i = 0; i < participants; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setEvent(event);
+            booking.setUser(user(i));
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setBookedAt(Instant.parse("2026-12-01T12:00:00Z").plusSeconds(i));
+            bookings.add(booking);
+        }
+        event.setBookings(bookings);
+        event.setRatings(new ArrayList<>());
+        return event;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
+import com.example.eventmanagerbackend.mapper.EventMapper;
+import com.example.eventmanagerbackend.mapper.EventMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializing one listing page, as the summary DTOs served today and as detail DTOs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<EventSummaryDto> summaries;
+    private List<EventResponseDto> responses;
+
+    @Setup
+    public void setup() {
+        // Configured like Spring MVC's message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        EventMapper eventMapper = new EventMapperImpl();
+        summaries = new ArrayList<>(pageSize);
+        responses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var event = Fixtures.event(i, 50);
+            summaries.add(eventMapper.toSummaryDto(event));
+            responses.add(eventMapper.toResponseDto(event));
+        }
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.eventmanagerbackend.security.JwtDecoder;
+import com.example.eventmanagerbackend.security.JwtIssuer;
+import com.example.eventmanagerbackend.security.JwtProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Token minting on login and verification on every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key";
+
+    private JwtIssuer issuer;
+    private JwtDecoder decoder;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecretKey(SECRET);
+        properties.setTokenDuration(Duration.ofMinutes(15));
+        issuer = new JwtIssuer(properties);
+        decoder = new JwtDecoder(properties);
+        token = issuer.issue("user-1", "member@example.com", List.of("MEMBER"));
+    }
+
+    @Benchmark
+    public String issue() {
+        return issuer.issue("user-1", "member@example.com", List.of("MEMBER"));
+    }
+
+    @Benchmark
+    public DecodedJWT decode() {
+        return decoder.decode(token);
+    }
+
+    // What JwtDecoder did before the verifier was reused
+    @Benchmark
+    public DecodedJWT decodeWithNewVerifier() {
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+    }
+}
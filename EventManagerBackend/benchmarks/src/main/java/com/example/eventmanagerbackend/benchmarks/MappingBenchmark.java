@@ -0,0 +1,44 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.mapper.EventMapper;
+import com.example.eventmanagerbackend.mapper.EventMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Event -> EventResponseDto, reflective ModelMapper against the generated mapper. The detail DTO no longer carries the
+// attendees, so the booking count only shows that neither mapper touches them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    @Param({"0", "10000"})
+    private int participants;
+
+    private Event event;
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+
+    @Setup
+    public void setup() {
+        event = Fixtures.event(1, participants);
+        modelMapper = new ModelMapper();
+        eventMapper = new EventMapperImpl();
+    }
+
+    @Benchmark
+    public EventResponseDto modelMapper() {
+        return modelMapper.map(event, EventResponseDto.class);
+    }
+
+    @Benchmark
+    public EventResponseDto mapStruct() {
+        return eventMapper.toResponseDto(event);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.eventmanagerbackend.benchmarks;
+
+import com.example.eventmanagerbackend.EventManagerBackendApplication;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.EventRating;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import com.example.eventmanagerbackend.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Cost of keeping averageRating current after one changed rating, through the real persistence layer on an
+// in-memory H2 database in PostgreSQL mode: loading and re-summing every rating of the event (the former
+// updateEventAverageRating) against EventRepository.applyRatingDelta, one UPDATE of the stored aggregates.
+// Each trial boots the application, absolute numbers are lower than on PostgreSQL but the ratio holds.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingAggregationBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int ratings;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private TransactionTemplate transactionTemplate;
+    private String eventId;
+    private boolean raise;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(EventManagerBackendApplication.class)
+                // Arguments, so they win over the PostgreSQL settings in application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:ratings;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--server.port=0",
+                        "--security.password.cost=4",
+                        "--logging.level.root=WARN");
+        eventRepository = context.getBean(EventRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        eventId = seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public float recomputeFromAllRatings() {
+        return transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(eventId).orElseThrow();
+            float totalRating = 0;
+            for (EventRating rating : event.getRatings()) {
+                totalRating += rating.getRating();
+            }
+            float averageRating = totalRating / event.getRatings().size();
+            event.setAverageRating(averageRating);
+            return averageRating;
+        });
+    }
+
+    // A changed rating, alternating 3 -> 5 and 5 -> 3 so the aggregates stay put
+    @Benchmark
+    public int applyDelta() {
+        raise = !raise;
+        int sign = raise ? 1 : -1;
+        return transactionTemplate.execute(status ->
+                eventRepository.applyRatingDelta(eventId, 2L * sign, 0, 0, 0, -sign, 0, sign));
+    }
+
+    // One event rated by as many users as the parameter asks for, with matching aggregates
+    private String seed() {
+        User organizer = Fixtures.user(0);
+        organizer.setId(UUID.randomUUID().toString());
+        context.getBean(UserRepository.class).save(organizer);
+        Event event = Fixtures.event(0, 0);
+        event.setId(UUID.randomUUID().toString());
+        event.setOrganizer(organizer);
+        eventRepository.save(event);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO users (id, full_name, email, password, role) " +
+                "SELECT RANDOM_UUID(), 'Rater ' || n, 'rater' || n || '@example.com', 'not used', 'MEMBER' " +
+                "FROM SYSTEM_RANGE(1, ?) AS r(n)", ratings);
+        jdbc.update("INSERT INTO event_ratings (id, user_id, event_id, rating) " +
+                "SELECT RANDOM_UUID(), id, CAST(? AS uuid), 1 + MOD(ROWNUM(), 5) FROM users WHERE email LIKE 'rater%'",
+                event.getId());
+        jdbc.update("UPDATE events e SET rating_sum = (SELECT SUM(r.rating) FROM event_ratings r WHERE r.event_id = e.id), " +
+                "rating_count = (SELECT COUNT(*) FROM event_ratings r WHERE r.event_id = e.id), " +
+                "average_rating = (SELECT AVG(CAST(r.rating AS real)) FROM event_ratings r WHERE r.event_id = e.id) " +
+                "WHERE e.id = CAST(? AS uuid)", event.getId());
+        return event.getId();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.eventmanagerbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Detail pages left open during the sale: each watcher holds a /events/{id}/live stream and remembers the last
+// seat count it was sent, so the run can check that every page ends up showing the final state.
+class LiveWatchers implements AutoCloseable {
+    // Long enough for a few ticks of the server side coalescing
+    static final Duration SETTLE = Duration.ofSeconds(2);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final List<Watcher> watchers = new CopyOnWriteArrayList<>();
+
+    LiveWatchers(HttpClient client, ObjectMapper objectMapper) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns once every stream delivered its initial state
+    void open(String baseUrl, List<String> eventIds, int count) throws InterruptedException {
+        CountDownLatch connected = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            Watcher watcher = new Watcher(eventIds.get(i % eventIds.size()), connected);
+            watchers.add(watcher);
+            Thread.ofVirtual().start(() -> watcher.run(URI.create(baseUrl + "/events/" + watcher.eventId + "/live")));
+        }
+        if (!connected.await(2, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(connected.getCount() + " live streams did not connect");
+        }
+    }
+
+    int size() {
+        return watchers.size();
+    }
+
+    // Status frames received after the initial one, summed over all watchers
+    long updates() {
+        return watchers.stream().mapToLong(watcher -> Math.max(0, watcher.frames - 1)).sum();
+    }
+
+    // Watchers of the event whose last frame does not show the given seat count yet
+    long behind(String eventId, int currentParticipants) {
+        return watchers.stream()
+                .filter(watcher -> watcher.eventId.equals(eventId) && watcher.currentParticipants != currentParticipants)
+                .count();
+    }
+
+    @Override
+    public void close() {
+        watchers.forEach(Watcher::close);
+    }
+
+    private class Watcher {
+        private final String eventId;
+        private final CountDownLatch connected;
+        private volatile Stream<String> lines;
+        private volatile int currentParticipants = -1;
+        private volatile int frames;
+
+        Watcher(String eventId, CountDownLatch connected) {
+            this.eventId = eventId;
+            this.connected = connected;
+        }
+
+        private void run(URI uri) {
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "text/event-stream").GET().build();
+            try {
+                HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+                lines = response.body();
+                String event = null;
+                for (String line : (Iterable<String>) lines::iterator) {
+                    if (line.startsWith("event:")) {
+                        event = line.substring("event:".length());
+                    } else if (line.startsWith("data:") && "status".equals(event)) {
+                        JsonNode status = objectMapper.readTree(line.substring("data:".length()));
+                        currentParticipants = status.get("currentParticipants").asInt();
+                        if (frames++ == 0) {
+                            connected.countDown();
+                        }
+                    } else if (line.isEmpty()) {
+                        event = null;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                // Closed at the end of the run, or refused, in which case it never counts down and open() fails
+                if (frames == 0) {
+                    System.out.println("Live stream of " + eventId + " failed: " + ex);
+                }
+            }
+        }
+
+        private void close() {
+            Stream<String> stream = lines;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.eventmanagerbackend.loadtest;
+
+import com.example.eventmanagerbackend.EventManagerBackendApplication;
+import com.example.eventmanagerbackend.entity.Ids;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Flash sale in a box: boots the backend on an in-memory H2 database in PostgreSQL mode, seeds users and a few
+// small hot events, then lets every user log in, list events, book a random hot event and pay for it, all at once.
+// Prints throughput, latency percentiles and status codes per step, then checks the database for oversold events
+// and waits for the booking confirmation mails to reach a local SMTP stand-in.
+// Optionally keeps live detail pages open on the hot events and checks they all end on the final seat count.
+// With compare-threads=true the sale runs once on platform and once on virtual request threads, each on a fresh
+// database, followed by a side by side table of the book and payment steps.
+// Exits with status 1 when an event was oversold, mails went missing or a live page fell behind.
+public class LoadTestMain {
+    private static final String PASSWORD = "loadtest";
+    private static final String PAYMENT = "{\"fullName\":\"Load Test\",\"cardNumber\":\"1234567812345678\","
+            + "\"expirationDate\":\"24/12\",\"cvv\":\"999\"}";
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    private final StepStats login = new StepStats("login");
+    private final StepStats list = new StepStats("list");
+    private final StepStats queue = new StepStats("queue");
+    private final StepStats book = new StepStats("book");
+    private final StepStats payment = new StepStats("payment");
+    private final AtomicInteger booked = new AtomicInteger();
+    private String baseUrl;
+    private double seconds;
+
+    LoadTestMain(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode = options.compareThreads() ? compareThreads(options) : new LoadTestMain(options).run();
+        System.exit(exitCode);
+    }
+
+    private static int compareThreads(LoadTestOptions options) throws Exception {
+        int exitCode = 0;
+        Map<String, LoadTestMain> runs = new LinkedHashMap<>();
+        for (boolean virtualThreads : List.of(false, true)) {
+            LoadTestMain run = new LoadTestMain(options.withVirtualThreads(virtualThreads));
+            exitCode |= run.run();
+            runs.put(virtualThreads ? "virtual" : "platform", run);
+            System.out.println();
+        }
+        System.out.printf("%-9s %-10s %8s %10s %9s %9s %9s %9s  %s%n", "threads", "step", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors", "statuses");
+        for (String step : List.of("book", "payment")) {
+            runs.forEach((mode, run) -> {
+                StepStats stats = step.equals("book") ? run.book : run.payment;
+                System.out.printf("%-9s %s%n", mode, stats.format(run.seconds));
+            });
+        }
+        return exitCode;
+    }
+
+    int run() throws Exception {
+        try (SmtpSink smtpSink = new SmtpSink(options.smtpLatency());
+             LiveWatchers liveWatchers = new LiveWatchers(client, objectMapper)) {
+            return run(smtpSink, liveWatchers);
+        }
+    }
+
+    private int run(SmtpSink smtpSink, LiveWatchers liveWatchers) throws Exception {
+        var context = (ServletWebServerApplicationContext) SpringApplication.run(EventManagerBackendApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + (options.virtualThreads() ? "virtual" : "platform") + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+                "--payment.gateway-latency=" + options.paymentLatency().toMillis() + "ms",
+                "--security.password.cost=" + options.bcryptCost(),
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=" + smtpSink.port(),
+                // Every live watcher connects from this process
+                "--live-updates.max-subscribers-per-client=" + Math.max(1, options.liveSubscribers()),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                // Sold out rejections surface as exceptions, thousands of stack traces would dominate the run
+                "--logging.level.com.example.eventmanagerbackend.GlobalExceptionHandler=OFF");
+        try {
+            baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            seedUsers(jdbcTemplate);
+            List<String> hotEvents = createHotEvents();
+            if (options.liveSubscribers() > 0) {
+                liveWatchers.open(baseUrl, hotEvents, options.liveSubscribers());
+            }
+
+            System.out.printf("%d users, %d hot events with %d seats each, virtual threads %s, waiting room %s, %d live subscribers%n",
+                    options.users(), options.events(), options.seats(), options.virtualThreads(),
+                    options.waitingRoomRate() > 0 ? options.waitingRoomRate() + "/s" : "off", options.liveSubscribers());
+            long start = System.nanoTime();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                long rampUpNanos = options.rampUp().toNanos();
+                for (int i = 0; i < options.users(); i++) {
+                    int user = i;
+                    long delay = options.users() > 1 ? rampUpNanos * i / (options.users() - 1) : 0;
+                    executor.submit(() -> virtualUser(user, hotEvents, delay));
+                }
+            }
+            seconds = (System.nanoTime() - start) / 1e9;
+
+            report();
+            boolean consistent = checkOversell(jdbcTemplate, hotEvents);
+            consistent &= checkMail(jdbcTemplate, smtpSink);
+            if (options.liveSubscribers() > 0) {
+                consistent &= checkLiveUpdates(jdbcTemplate, hotEvents, liveWatchers);
+            }
+            return consistent ? 0 : 1;
+        } finally {
+            context.close();
+        }
+    }
+
+    // Same password for everyone, hashed once
+    private void seedUsers(JdbcTemplate jdbcTemplate) {
+        String hash = new BCryptPasswordEncoder(options.bcryptCost()).encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{Ids.newId(), "Load Test Admin", "admin@loadtest.local", hash, "ADMIN"});
+        for (int i = 0; i < options.users(); i++) {
+            rows.add(new Object[]{Ids.newId(), "User " + i, "user" + i + "@loadtest.local", hash, "MEMBER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, full_name, email, password, role) VALUES (CAST(? AS uuid), ?, ?, ?, ?)", rows);
+    }
+
+    private List<String> createHotEvents() throws Exception {
+        String adminToken = login("admin@loadtest.local");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < options.events(); i++) {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "title", "Flash sale " + i,
+                    "description", "Load test event",
+                    "eventDate", LocalDate.now().plusMonths(1).toString(),
+                    "startTime", "20:00:00",
+                    "endTime", "23:00:00",
+                    "city", "Paris",
+                    "location", "Stage " + i,
+                    "category", "CONCERT",
+                    "price", 49.9,
+                    "maxParticipants", options.seats()));
+            HttpResponse<String> response = client.send(post("/events/create", adminToken, body), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Could not create event: " + response.statusCode() + " " + response.body());
+            }
+            String id = objectMapper.readTree(response.body()).get("id").asText();
+            if (options.waitingRoomRate() > 0) {
+                HttpRequest open = HttpRequest.newBuilder(URI.create(baseUrl + "/events/" + id + "/queue?rate=" + options.waitingRoomRate()))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                if (client.send(open, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                    throw new IllegalStateException("Could not open the waiting room of " + id);
+                }
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    // login -> first page of /events/all -> [wait for admission] -> book a random hot event -> pay when a seat was granted
+    private void virtualUser(int user, List<String> hotEvents, long delayNanos) {
+        try {
+            if (delayNanos > 0) {
+                Thread.sleep(Duration.ofNanos(delayNanos));
+            }
+            String token = timed(login, null, () -> login("user" + user + "@loadtest.local"));
+            if (token == null) {
+                return;
+            }
+            timed(list, -1, () -> status(client.send(get("/events/all?size=20", token), HttpResponse.BodyHandlers.discarding())));
+
+            String eventId = hotEvents.get(ThreadLocalRandom.current().nextInt(hotEvents.size()));
+            String ticket = null;
+            if (options.waitingRoomRate() > 0) {
+                ticket = waitForAdmission(eventId, token);
+                if (ticket == null) {
+                    return;
+                }
+            }
+            HttpRequest bookRequest = post("/events/" + eventId + "/book", token, "");
+            if (ticket != null) {
+                bookRequest = HttpRequest.newBuilder(bookRequest, (name, value) -> true).header("X-Queue-Ticket", ticket).build();
+            }
+            HttpRequest request = bookRequest;
+            int bookStatus = timed(book, -1, () -> status(client.send(request, HttpResponse.BodyHandlers.discarding())));
+            if (bookStatus != 200) {
+                return;
+            }
+            booked.incrementAndGet();
+            timed(payment, -1, () -> status(client.send(post("/payment/verify", token, PAYMENT), HttpResponse.BodyHandlers.discarding())));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Joins the event's waiting room and polls until admitted, returns null when the event sold out first
+    private String waitForAdmission(String eventId, String token) throws InterruptedException {
+        JsonNode ticket = timed(queue, null, () -> queueCall(post("/events/" + eventId + "/queue", token, "")));
+        while (ticket != null && "WAITING".equals(ticket.get("status").asText())) {
+            Thread.sleep(Duration.ofSeconds(ticket.get("retryAfterSeconds").asLong()));
+            String path = "/events/" + eventId + "/queue/" + ticket.get("ticket").asText();
+            ticket = timed(queue, null, () -> queueCall(get(path, token)));
+        }
+        return ticket != null && "ADMITTED".equals(ticket.get("status").asText()) ? ticket.get("ticket").asText() : null;
+    }
+
+    private JsonNode queueCall(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new StatusException(response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private String login(String email) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD));
+        HttpResponse<String> response = client.send(post("/auth/login", null, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new StatusException(response.statusCode());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("accessToken").asText();
+    }
+
+    private void report() {
+        System.out.printf("%nFinished in %.1f s%n", seconds);
+        System.out.printf("%-10s %8s %10s %9s %9s %9s %9s  %s%n", "step", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors", "statuses");
+        for (StepStats step : List.of(login, list, queue, book, payment)) {
+            System.out.println(step.format(seconds));
+        }
+        System.out.println("Booking rejections are expected once the hot events sell out, they are reported as errors of the book step.");
+    }
+
+    // Seats granted over HTTP, the seat counter and the participant rows must agree and stay within capacity
+    private boolean checkOversell(JdbcTemplate jdbcTemplate, List<String> hotEvents) {
+        boolean consistent = true;
+        int participantRows = 0;
+        System.out.printf("%nevent                                  max  current  rows  result%n");
+        for (String eventId : hotEvents) {
+            Map<String, Object> event = jdbcTemplate.queryForMap(
+                    "SELECT max_participants, current_participants FROM events WHERE id = CAST(? AS uuid)", eventId);
+            int max = ((Number) event.get("max_participants")).intValue();
+            int current = ((Number) event.get("current_participants")).intValue();
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE event_id = CAST(? AS uuid)", Integer.class, eventId);
+            participantRows += rows;
+            boolean ok = current <= max && rows == current;
+            consistent &= ok;
+            System.out.printf("%-36s %5d %8d %5d  %s%n", eventId, max, current, rows, ok ? "ok" : "OVERSOLD/INCONSISTENT");
+        }
+        if (participantRows != booked.get()) {
+            System.out.printf("%d bookings were confirmed over HTTP but %d participant rows exist%n", booked.get(), participantRows);
+            consistent = false;
+        }
+        System.out.println(consistent ? "Oversell check passed" : "Oversell check FAILED");
+        return consistent;
+    }
+
+    // Every confirmed booking queues one mail, the dispatcher must deliver all of them after the run
+    private boolean checkMail(JdbcTemplate jdbcTemplate, SmtpSink smtpSink) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMinutes(2).toNanos();
+        int queued = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox", Integer.class);
+        int sent;
+        while ((sent = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox WHERE status = 'SENT'", Integer.class)) < queued
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        System.out.printf("%nmail: %d queued, %d sent, %d received by the SMTP stand-in (%d ms each), drained %.1f s after the run%n",
+                queued, sent, smtpSink.received(), options.smtpLatency().toMillis(), (System.nanoTime() - start) / 1e9);
+        boolean ok = queued == booked.get() && sent == queued && smtpSink.received() == queued;
+        System.out.println(ok ? "Mail check passed" : "Mail check FAILED");
+        return ok;
+    }
+
+    // Every open detail page must show the final seat count, with far fewer frames than bookings per page
+    private boolean checkLiveUpdates(JdbcTemplate jdbcTemplate, List<String> hotEvents, LiveWatchers liveWatchers) throws InterruptedException {
+        Thread.sleep(LiveWatchers.SETTLE);
+        long behind = 0;
+        for (String eventId : hotEvents) {
+            Integer current = jdbcTemplate.queryForObject(
+                    "SELECT current_participants FROM events WHERE id = CAST(? AS uuid)", Integer.class, eventId);
+            behind += liveWatchers.behind(eventId, current);
+        }
+        System.out.printf("%nlive: %d subscribers, %.1f updates each for %.1f bookings per event, %d behind the final seat count%n",
+                liveWatchers.size(), (double) liveWatchers.updates() / liveWatchers.size(),
+                (double) booked.get() / hotEvents.size(), behind);
+        boolean ok = behind == 0;
+        System.out.println(ok ? "Live update check passed" : "Live update check FAILED");
+        return ok;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(2))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static int status(HttpResponse<?> response) {
+        return response.statusCode();
+    }
+
+    // Records the call under its status code, or -1 when it failed without a response, and returns fallback on failure
+    private static <T> T timed(StepStats stats, T fallback, Call<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            stats.record(result instanceof Integer status ? status : 200, System.nanoTime() - start);
+            return result;
+        } catch (StatusException ex) {
+            stats.record(ex.status, System.nanoTime() - start);
+        } catch (Exception ex) {
+            stats.record(-1, System.nanoTime() - start);
+        }
+        return fallback;
+    }
+
+    private interface Call<T> {
+        T run() throws Exception;
+    }
+
+    private static class StatusException extends RuntimeException {
+        private final int status;
+
+        StatusException(int status) {
+            super("HTTP " + status);
+            this.status = status;
+        }
+    }
+}
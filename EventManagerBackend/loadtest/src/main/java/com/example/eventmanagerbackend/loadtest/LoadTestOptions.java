@@ -0,0 +1,54 @@
+package com.example.eventmanagerbackend.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// key=value command line arguments, every option has a default
+record LoadTestOptions(
+        int users,
+        int events,
+        int seats,
+        Duration rampUp,
+        Duration paymentLatency,
+        int bcryptCost,
+        boolean virtualThreads,
+        // Runs the sale twice, on platform and then on virtual request threads, and compares booking and payment
+        boolean compareThreads,
+        // Admissions per second of the waiting room opened for each hot event, 0 books without one
+        int waitingRoomRate,
+        // Time the local SMTP stand-in takes to accept each notification mail
+        Duration smtpLatency,
+        // Open /events/{id}/live streams spread over the hot events while the sale runs
+        int liveSubscribers
+) {
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            values.put(pair[0], pair[1]);
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "2000")),
+                Integer.parseInt(values.getOrDefault("events", "3")),
+                Integer.parseInt(values.getOrDefault("seats", "100")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("ramp-up-ms", "0"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("payment-latency-ms", "200"))),
+                // Low by default so the run measures booking contention, raise it to include login CPU
+                Integer.parseInt(values.getOrDefault("bcrypt-cost", "4")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "true")),
+                Boolean.parseBoolean(values.getOrDefault("compare-threads", "false")),
+                Integer.parseInt(values.getOrDefault("waiting-room-rate", "0")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("smtp-latency-ms", "100"))),
+                Integer.parseInt(values.getOrDefault("live-subscribers", "0"))
+        );
+    }
+
+    LoadTestOptions withVirtualThreads(boolean virtualThreads) {
+        return new LoadTestOptions(users, events, seats, rampUp, paymentLatency, bcryptCost, virtualThreads, false,
+                waitingRoomRate, smtpLatency, liveSubscribers);
+    }
+}
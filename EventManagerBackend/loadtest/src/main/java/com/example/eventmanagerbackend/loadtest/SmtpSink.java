@@ -0,0 +1,88 @@
+package com.example.eventmanagerbackend.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local SMTP stand-in for the outbox dispatcher: accepts every message, counts it and throws it away.
+// Each message can be held for a while to make sure a slow mail server does not show up in booking latency.
+class SmtpSink implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final Duration latency;
+    private final AtomicInteger received = new AtomicInteger();
+
+    SmtpSink(Duration latency) throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        this.latency = latency;
+        Thread.ofVirtual().name("smtp-sink").start(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int received() {
+        return received.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> session(socket));
+            } catch (IOException ex) {
+                // Closed
+            }
+        }
+    }
+
+    // Just enough of RFC 5321 for JavaMail: greeting, EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 loadtest SMTP sink");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 loadtest");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Discarded
+                        }
+                        Thread.sleep(latency);
+                        received.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException ex) {
+            // Client went away
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.eventmanagerbackend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latencies and status codes of one scenario step, shared by all virtual users
+class StepStats {
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(int status, long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    // status -1 stands for a transport failure (refused, reset, timeout)
+    synchronized String format(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int failures = count - statuses.getOrDefault(200, 0);
+        return String.format("%-10s %8d %10.1f %9.1f %9.1f %9.1f %8.2f%%  %s",
+                name, count, count / seconds,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                count == 0 ? 0 : 100.0 * failures / count, statuses);
+    }
+
+    // Milliseconds
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.eventmanagerbackend;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.example.eventmanagerbackend.admission.NotAdmittedException;
+import com.example.eventmanagerbackend.live.SubscriberLimitException;
+import com.example.eventmanagerbackend.service.EventFullException;
+import jakarta.persistence.EntityNotFoundException;
 import org.apache.coyote.BadRequestException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -25,4 +32,55 @@ public class GlobalExceptionHandler {
         logger.error("Specific error occurred: {}", ex.getMessage(), ex); // Log specific errors
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
+
+    // Our own validation, expected and logged without stack traces
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequest(InvalidRequestException ex) {
+        logger.debug("Invalid request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    // An id in the path or the token that no longer exists, e.g. rating a deleted event
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(EntityNotFoundException ex) {
+        logger.debug("Not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    // Authenticated, but not allowed to see this resource, e.g. another organizer's roster
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<String> handleAccessDenied(AccessDeniedException ex) {
+        logger.warn("Access denied: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
+    // Expired, revoked or forged tokens presented to /auth/refresh or /auth/logout
+    @ExceptionHandler(JWTVerificationException.class)
+    public ResponseEntity<String> handleInvalidToken(JWTVerificationException ex) {
+        logger.warn("Rejected token: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+    }
+
+    // Expected under load, logged without stack traces
+    @ExceptionHandler(EventFullException.class)
+    public ResponseEntity<String> handleEventFull(EventFullException ex) {
+        logger.debug("Booking rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(NotAdmittedException.class)
+    public ResponseEntity<String> handleNotAdmitted(NotAdmittedException ex) {
+        logger.debug("Not admitted: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(SubscriberLimitException.class)
+    public ResponseEntity<String> handleSubscriberLimit(SubscriberLimitException ex) {
+        logger.warn("Live stream refused: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
 }
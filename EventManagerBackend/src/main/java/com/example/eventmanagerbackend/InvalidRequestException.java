@@ -0,0 +1,9 @@
+package com.example.eventmanagerbackend;
+
+// Input the client has to fix, answered with a 400 carrying the message. Only thrown by our own validation,
+// so messages of library exceptions never reach clients.
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +0,0 @@
-package com.example.eventmanagerbackend;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfiguration {
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-}
\ No newline at end of file
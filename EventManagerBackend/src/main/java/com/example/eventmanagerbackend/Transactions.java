@@ -0,0 +1,25 @@
+package com.example.eventmanagerbackend;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Side effects that others must only see once the data is committed: search index, caches, live streams
+public final class Transactions {
+    private Transactions() {
+    }
+
+    // Runs the action after the current transaction commits and drops it on rollback.
+    // Outside a transaction the change is already visible, so it runs right away.
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.eventmanagerbackend.admission;
+
+import lombok.Getter;
+
+// The waiting room has not let this client through yet
+@Getter
+public class NotAdmittedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public NotAdmittedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.eventmanagerbackend.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Admission queue of one event. Clients get increasing positions, the admitted position moves forward
+// at a fixed rate and never past the last issued one, so idle time does not turn into a burst later.
+// An admission is only good for admissionWindow: once the admitted position passed a ticket that long ago the ticket
+// expires, whether its holder booked, failed or walked away, and expire() drops it.
+class WaitingRoom {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int admissionRate;
+    private final long admissionWindow;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, Ticket> ticketsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    // When the admitted position reached which value, at most one per second and only within the window
+    private final ArrayDeque<Checkpoint> checkpoints = new ArrayDeque<>();
+    private long admitted;
+    private long lastAdvance;
+    // Tickets up to this position were admitted more than admissionWindow ago
+    private long expiredThrough;
+
+    WaitingRoom(int admissionRate, Duration admissionWindow) {
+        this(admissionRate, admissionWindow, System::nanoTime);
+    }
+
+    // Tests move the clock by hand
+    WaitingRoom(int admissionRate, Duration admissionWindow, LongSupplier nanoTime) {
+        this.admissionRate = admissionRate;
+        this.admissionWindow = admissionWindow.toNanos();
+        this.nanoTime = nanoTime;
+        this.lastAdvance = nanoTime.getAsLong();
+    }
+
+    int getAdmissionRate() {
+        return admissionRate;
+    }
+
+    long getIssued() {
+        return issued.get();
+    }
+
+    // A user keeps the same ticket when joining again, until it expired
+    Ticket join(String userId) {
+        getTicket(userId);
+        return ticketsByUser.computeIfAbsent(userId,
+                id -> new Ticket(UUID.randomUUID().toString(), issued.incrementAndGet(), id));
+    }
+
+    // Null when the user holds no ticket or it expired
+    Ticket getTicket(String userId) {
+        admittedThrough();
+        Ticket ticket = ticketsByUser.get(userId);
+        if (ticket != null && isExpired(ticket)) {
+            ticketsByUser.remove(userId, ticket);
+            return null;
+        }
+        return ticket;
+    }
+
+    void leave(String userId) {
+        ticketsByUser.remove(userId);
+    }
+
+    // Drops the expired tickets, returns how many
+    int expire() {
+        admittedThrough();
+        int before = ticketsByUser.size();
+        ticketsByUser.values().removeIf(this::isExpired);
+        return before - ticketsByUser.size();
+    }
+
+    synchronized long admittedThrough() {
+        long now = nanoTime.getAsLong();
+        long allowance = (now - lastAdvance) * admissionRate / NANOS_PER_SECOND;
+        if (allowance > 0) {
+            admitted = Math.min(issued.get(), admitted + allowance);
+            lastAdvance = now;
+        }
+        Checkpoint last = checkpoints.peekLast();
+        if (last == null ? admitted > expiredThrough : admitted > last.admitted() && now - last.time() >= NANOS_PER_SECOND) {
+            checkpoints.addLast(new Checkpoint(now, admitted));
+        }
+        while (!checkpoints.isEmpty() && now - checkpoints.peekFirst().time() >= admissionWindow) {
+            expiredThrough = checkpoints.pollFirst().admitted();
+        }
+        return admitted;
+    }
+
+    private synchronized boolean isExpired(Ticket ticket) {
+        return ticket.position() <= expiredThrough;
+    }
+
+    record Ticket(String token, long position, String userId) {
+    }
+
+    private record Checkpoint(long time, long admitted) {
+    }
+}
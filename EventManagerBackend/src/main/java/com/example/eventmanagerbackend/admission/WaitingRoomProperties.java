@@ -0,0 +1,25 @@
+package com.example.eventmanagerbackend.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("waiting-room")
+public class WaitingRoomProperties {
+    // Queue positions let through per second and event, unless the room was opened with its own rate
+    private int admissionRate = 100;
+    // Joins are refused beyond this many waiting clients
+    private int maxDepth = 100_000;
+    // Shortest delay suggested to clients between two position checks
+    private Duration minPollInterval = Duration.ofSeconds(1);
+    // An admitted member has this long to book, then the ticket expires and they have to join again
+    private Duration admissionWindow = Duration.ofMinutes(5);
+    // How often expired tickets of abandoned joins are dropped
+    private Duration expiryInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,156 @@
+package com.example.eventmanagerbackend.admission;
+
+import com.example.eventmanagerbackend.InvalidRequestException;
+import com.example.eventmanagerbackend.dto.QueueTicketDto;
+import com.example.eventmanagerbackend.dto.WaitingRoomStatusDto;
+import com.example.eventmanagerbackend.enums.QueueStatus;
+import com.example.eventmanagerbackend.service.EventFullException;
+import com.example.eventmanagerbackend.service.SeatInventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Admission control for flash sales. An admin opens a waiting room for a hot event, members join it and poll
+// their position, and only admitted members may book. Everything is answered from memory, sold out events
+// are rejected before the booking transaction starts.
+@Service
+public class WaitingRoomService {
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    @Autowired
+    private WaitingRoomProperties properties;
+
+    private final ConcurrentHashMap<String, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    // Opening an open room keeps its queue and rate
+    public WaitingRoomStatusDto open(String eventId, Integer admissionRate) {
+        int rate = admissionRate == null ? properties.getAdmissionRate() : admissionRate;
+        if (rate < 1) {
+            throw new InvalidRequestException("Admission rate must be positive");
+        }
+        // Loads the seat counter, also fails for unknown events
+        seatInventoryService.isSoldOut(eventId);
+        rooms.computeIfAbsent(eventId, id -> new WaitingRoom(rate, properties.getAdmissionWindow()));
+        return getStatus(eventId);
+    }
+
+    public void close(String eventId) {
+        rooms.remove(eventId);
+    }
+
+    public WaitingRoomStatusDto getStatus(String eventId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return WaitingRoomStatusDto.builder()
+                    .eventId(eventId)
+                    .open(false)
+                    .soldOut(seatInventoryService.isSoldOut(eventId))
+                    .build();
+        }
+        long admitted = room.admittedThrough();
+        return WaitingRoomStatusDto.builder()
+                .eventId(eventId)
+                .open(true)
+                .soldOut(seatInventoryService.isSoldOut(eventId))
+                .admissionRate(room.getAdmissionRate())
+                .issued(room.getIssued())
+                .admitted(admitted)
+                .depth(room.getIssued() - admitted)
+                .build();
+    }
+
+    public QueueTicketDto join(String eventId, String userId) {
+        WaitingRoom room = getOpenRoom(eventId);
+        if (seatInventoryService.isSoldOut(eventId)) {
+            return soldOut();
+        }
+        WaitingRoom.Ticket ticket = room.getTicket(userId);
+        if (ticket == null) {
+            if (room.getIssued() - room.admittedThrough() >= properties.getMaxDepth()) {
+                throw new NotAdmittedException("Waiting room is full", properties.getMinPollInterval().toSeconds());
+            }
+            ticket = room.join(userId);
+        }
+        return toDto(room, ticket);
+    }
+
+    public QueueTicketDto getTicket(String eventId, String token, String userId) {
+        WaitingRoom room = getOpenRoom(eventId);
+        if (seatInventoryService.isSoldOut(eventId)) {
+            return soldOut();
+        }
+        return toDto(room, findTicket(room, token, userId));
+    }
+
+    // Called before booking, rejects sold out events and members the waiting room has not admitted yet
+    public void checkAdmission(String eventId, String token, String userId) {
+        if (seatInventoryService.isSoldOut(eventId)) {
+            throw new EventFullException("Event is full");
+        }
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return;
+        }
+        WaitingRoom.Ticket ticket = findTicket(room, token, userId);
+        long ahead = ticket.position() - room.admittedThrough();
+        if (ahead > 0) {
+            throw new NotAdmittedException("Not admitted yet, " + ahead + " ahead in the queue", retryAfterSeconds(room, ahead));
+        }
+    }
+
+    // An admission is good for one booking
+    public void leave(String eventId, String userId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room != null) {
+            room.leave(userId);
+        }
+    }
+
+    // Members who joined and walked away, or whose booking failed, would otherwise stay in memory for the whole sale
+    @Scheduled(fixedDelayString = "${waiting-room.expiry-interval}")
+    public void expireTickets() {
+        rooms.values().forEach(WaitingRoom::expire);
+    }
+
+    private WaitingRoom getOpenRoom(String eventId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            throw new InvalidRequestException("No waiting room is open for this event");
+        }
+        return room;
+    }
+
+    private WaitingRoom.Ticket findTicket(WaitingRoom room, String token, String userId) {
+        WaitingRoom.Ticket ticket = room.getTicket(userId);
+        if (ticket == null || !ticket.token().equals(token)) {
+            throw new NotAdmittedException("Join the waiting room first", properties.getMinPollInterval().toSeconds());
+        }
+        return ticket;
+    }
+
+    private QueueTicketDto toDto(WaitingRoom room, WaitingRoom.Ticket ticket) {
+        long ahead = Math.max(0, ticket.position() - room.admittedThrough());
+        return QueueTicketDto.builder()
+                .ticket(ticket.token())
+                .position(ticket.position())
+                .ahead(ahead)
+                .status(ahead == 0 ? QueueStatus.ADMITTED : QueueStatus.WAITING)
+                .retryAfterSeconds(ahead == 0 ? 0 : retryAfterSeconds(room, ahead))
+                .build();
+    }
+
+    private QueueTicketDto soldOut() {
+        return QueueTicketDto.builder()
+                .status(QueueStatus.SOLD_OUT)
+                .build();
+    }
+
+    private long retryAfterSeconds(WaitingRoom room, long ahead) {
+        long expected = (ahead + room.getAdmissionRate() - 1) / room.getAdmissionRate();
+        return Math.max(properties.getMinPollInterval().toSeconds(), expected);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.eventmanagerbackend.bulk;
+
+import com.example.eventmanagerbackend.dto.EventCreateDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.projection.Attendee;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// CSV reading and writing for the bulk import, the catalog export and the attendee roster, rows are processed one at a time
+@Component
+public class EventCsv {
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final CsvMapper mapper = CsvMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // Lets an export be imported again, its id and counter columns are ignored
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    // Import columns are matched by the header names, so their order does not matter
+    private final CsvSchema importSchema = CsvSchema.emptySchema().withHeader();
+    private final CsvSchema exportSchema = mapper.schemaFor(ExportRow.class).withHeader();
+    private final CsvSchema attendeeSchema = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("fullName")
+            .addColumn("email")
+            .build()
+            .withHeader();
+
+    public MappingIterator<EventCreateDto> readRows(InputStream in) throws IOException {
+        return mapper.readerFor(EventCreateDto.class).with(importSchema).readValues(in);
+    }
+
+    public SequenceWriter writer(OutputStream out) throws IOException {
+        return mapper.writer(exportSchema).writeValues(out);
+    }
+
+    public SequenceWriter attendeeWriter(OutputStream out) throws IOException {
+        return mapper.writer(attendeeSchema).writeValues(out);
+    }
+
+    public Object[] toRow(Attendee attendee) {
+        return new Object[]{attendee.getId(), attendee.getFullName(), attendee.getEmail()};
+    }
+
+    public ExportRow toRow(Event event) {
+        return new ExportRow(event.getId(), event.getTitle(), event.getDescription(), event.getEventDate(),
+                event.getStartTime(), event.getEndTime(), event.getCity(), event.getLocation(),
+                event.getCategory().name(), event.getPrice(), event.getMaxParticipants(),
+                event.getCurrentParticipants(), event.getAverageRating(), event.getRatingCount());
+    }
+
+    // Flat export row, the import columns come first
+    @JsonPropertyOrder({"title", "description", "eventDate", "startTime", "endTime", "city", "location", "category",
+            "price", "maxParticipants", "id", "currentParticipants", "averageRating", "ratingCount"})
+    public record ExportRow(String id, String title, String description, LocalDate eventDate, LocalTime startTime,
+                            LocalTime endTime, String city, String location, String category, float price,
+                            int maxParticipants, int currentParticipants, float averageRating, int ratingCount) {
+    }
+}
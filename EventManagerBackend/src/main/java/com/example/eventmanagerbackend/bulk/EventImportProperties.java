@@ -0,0 +1,17 @@
+package com.example.eventmanagerbackend.bulk;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("event-import")
+public class EventImportProperties {
+    // Rows written and committed per transaction, the persistence context is cleared after each chunk
+    private int chunkSize = 500;
+    // Only the first rejected rows are reported back, the rest are counted
+    private int maxReportedErrors = 100;
+}
@@ -0,0 +1,206 @@
+package com.example.eventmanagerbackend.bulk;
+
+import com.example.eventmanagerbackend.InvalidRequestException;
+import com.example.eventmanagerbackend.cache.EventCache;
+import com.example.eventmanagerbackend.dto.EventCreateDto;
+import com.example.eventmanagerbackend.dto.EventImportResultDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.mapper.EventMapper;
+import com.example.eventmanagerbackend.repository.UserRepository;
+import com.example.eventmanagerbackend.search.EventSearchService;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Imports events from NDJSON or CSV while the request body is read.
+// Rows are validated one by one and inserted in chunks, each chunk in its own transaction with JDBC batching,
+// so memory stays constant whatever the size of the upload.
+@Service
+public class EventImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EventImportService.class);
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EventMapper eventMapper;
+    @Autowired
+    private EventSearchService eventSearchService;
+    @Autowired
+    private EventCache eventCache;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EventCsv eventCsv;
+    @Autowired
+    private EventImportProperties properties;
+
+    public EventImportResultDto importEvents(InputStream in, MediaType contentType, String organizerId) throws IOException {
+        if (!userRepository.existsById(organizerId)) {
+            throw new EntityNotFoundException("Organizer not found");
+        }
+
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<EventCreateDto> chunk = new ArrayList<>(properties.getChunkSize());
+        try (MappingIterator<EventCreateDto> rows = openRows(in, contentType)) {
+            // Rows are numbered from 1 without the CSV header, a CSV row may span several lines
+            long rowNumber = 0;
+            while (true) {
+                EventCreateDto row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    rowNumber++;
+                    row = rows.nextValue();
+                } catch (StreamReadException ex) {
+                    // Malformed input, there is no reliable way to find the next row
+                    progress.reject("line " + (ex.getLocation() == null ? "?" : ex.getLocation().getLineNr()), ex.getOriginalMessage());
+                    progress.complete = false;
+                    break;
+                } catch (IOException ex) {
+                    // A well formed row with a bad value, the iterator skips to the next row
+                    progress.reject("row " + rowNumber, ex.getMessage().lines().findFirst().orElse(""));
+                    continue;
+                }
+
+                String error = validate(row);
+                if (error != null) {
+                    progress.reject("row " + rowNumber, error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    progress.imported += insertChunk(chunk, organizerId);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.imported += insertChunk(chunk, organizerId);
+        }
+
+        logger.info("Imported {} events, rejected {}, in {} ms", progress.imported, progress.rejected,
+                (System.nanoTime() - start) / 1_000_000);
+        return EventImportResultDto.builder()
+                .imported(progress.imported)
+                .rejected(progress.rejected)
+                .complete(progress.complete)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private MappingIterator<EventCreateDto> openRows(InputStream in, MediaType contentType) throws IOException {
+        if (EventCsv.TEXT_CSV.isCompatibleWith(contentType)) {
+            return eventCsv.readRows(in);
+        }
+        if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return objectMapper.readerFor(EventCreateDto.class).readValues(in);
+        }
+        throw new InvalidRequestException("Unsupported content type " + contentType);
+    }
+
+    // Same rules as the columns of Event, returns null when the row is valid
+    private String validate(EventCreateDto row) {
+        if (isBlank(row.getTitle())) {
+            return "title is required";
+        }
+        if (isBlank(row.getCity())) {
+            return "city is required";
+        }
+        if (isBlank(row.getLocation())) {
+            return "location is required";
+        }
+        if (row.getCategory() == null) {
+            return "category is required";
+        }
+        if (row.getEventDate() == null || row.getStartTime() == null || row.getEndTime() == null) {
+            return "eventDate, startTime and endTime are required";
+        }
+        if (!row.getEndTime().isAfter(row.getStartTime())) {
+            return "endTime must be after startTime";
+        }
+        if (row.getDescription() != null && row.getDescription().length() > 1000) {
+            return "description is longer than 1000 characters";
+        }
+        if (row.getMaxParticipants() < 1) {
+            return "maxParticipants must be positive";
+        }
+        if (row.getPrice() < 0) {
+            return "price must not be negative";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private int insertChunk(List<EventCreateDto> rows, String organizerId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Event> events = transactionTemplate.execute(status -> {
+            // Imported events are not worth a place in the second-level cache until someone reads them
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            User organizer = entityManager.getReference(User.class, organizerId);
+            List<Event> inserted = new ArrayList<>(rows.size());
+            Set<String> invalidatedListings = new HashSet<>();
+            for (EventCreateDto row : rows) {
+                Event event = eventMapper.toEntity(row);
+                event.setOrganizer(organizer);
+                event.setBookings(new ArrayList<>());
+                event.setCurrentParticipants(0);
+                event.setAverageRating(0.f);
+                event.setRatings(new ArrayList<>());
+                entityManager.persist(event);
+                if (invalidatedListings.add(event.getCategory() + "|" + event.getCity())) {
+                    eventCache.eventCreated(event.getCategory(), event.getCity());
+                }
+                inserted.add(event);
+            }
+            // Sends the inserts as JDBC batches, then detaches the chunk
+            entityManager.flush();
+            entityManager.clear();
+            return inserted;
+        });
+        events.forEach(eventSearchService::index);
+        return events.size();
+    }
+
+    private class ImportProgress {
+        private long imported;
+        private long rejected;
+        private boolean complete = true;
+        private final List<String> errors = new ArrayList<>();
+
+        void reject(String position, String message) {
+            rejected++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(position + ": " + message);
+            }
+        }
+    }
+}
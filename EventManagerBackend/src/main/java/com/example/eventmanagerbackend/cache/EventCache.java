@@ -0,0 +1,159 @@
+package com.example.eventmanagerbackend.cache;
+
+import com.example.eventmanagerbackend.Transactions;
+import com.example.eventmanagerbackend.dto.CacheStatsDto;
+import com.example.eventmanagerbackend.dto.EventCacheStatsDto;
+import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
+import com.example.eventmanagerbackend.enums.EventCategory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Read-through cache for event detail DTOs and the category/city listings.
+// Every cached listing registers the events it contains, so a change to one event drops exactly
+// its detail entry and the listings it appears in, without a database round trip.
+@Component
+public class EventCache {
+    // Listing loads running longer than this are served but never cached
+    private static final Duration LOAD_WINDOW = Duration.ofMinutes(1);
+
+    private final Cache<String, EventResponseDto> details;
+    private final Cache<ListingKey, List<EventSummaryDto>> listings;
+    // eventId -> cached listings containing that event
+    private final ConcurrentHashMap<String, Set<ListingKey>> listingsByEvent = new ConcurrentHashMap<>();
+    // eventId -> sequence number of its last invalidation, kept for as long as a listing load may take
+    private final Cache<String, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(LOAD_WINDOW)
+            .build();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record ListingKey(String kind, String value) {
+    }
+
+    public EventCache(EventCacheProperties properties, MeterRegistry meterRegistry) {
+        this.details = Caffeine.newBuilder()
+                .maximumSize(properties.getDetailMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(properties.getListingMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                // Runs atomically with the eviction. Pointers left by explicit invalidations are harmless, they only cause a no-op invalidate
+                .evictionListener((ListingKey key, List<EventSummaryDto> events, RemovalCause cause) -> unregister(key, events))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "event.details");
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "event.listings");
+    }
+
+    public EventResponseDto getDetail(String eventId, Supplier<EventResponseDto> loader) {
+        return details.get(eventId, id -> loader.get());
+    }
+
+    public List<EventSummaryDto> getCategoryListing(EventCategory category, Supplier<List<EventSummaryDto>> loader) {
+        return getListing(categoryKey(category), loader);
+    }
+
+    public List<EventSummaryDto> getCityListing(String city, Supplier<List<EventSummaryDto>> loader) {
+        return getListing(cityKey(city), loader);
+    }
+
+    // Invalidations run once the change is visible, otherwise a concurrent read could cache the old state again.
+    // A new event only affects the listings it now belongs to
+    public void eventCreated(EventCategory category, String city) {
+        Transactions.afterCommit(() -> {
+            listings.invalidate(categoryKey(category));
+            listings.invalidate(cityKey(city));
+        });
+    }
+
+    // The event's detail and every listing it appeared in, plus the listings it moves into
+    public void eventChanged(String eventId, EventCategory category, String city) {
+        Transactions.afterCommit(() -> {
+            invalidateEvent(eventId);
+            listings.invalidate(categoryKey(category));
+            listings.invalidate(cityKey(city));
+        });
+    }
+
+    // Seat counts or ratings changed, the event stays in the same listings
+    public void eventChanged(String eventId) {
+        Transactions.afterCommit(() -> invalidateEvent(eventId));
+    }
+
+    public EventCacheStatsDto getStats() {
+        return EventCacheStatsDto.builder()
+                .details(CacheStatsDto.of(details.estimatedSize(), details.stats()))
+                .listings(CacheStatsDto.of(listings.estimatedSize(), listings.stats()))
+                .build();
+    }
+
+    private List<EventSummaryDto> getListing(ListingKey key, Supplier<List<EventSummaryDto>> loader) {
+        AtomicReference<List<EventSummaryDto>> stale = new AtomicReference<>();
+        List<EventSummaryDto> cached = listings.get(key, k -> {
+            long stamp = invalidations.get();
+            long started = System.nanoTime();
+            List<EventSummaryDto> events = List.copyOf(loader.get());
+            // Registered before the entry becomes visible, an invalidation from here on waits for it.
+            // One that ran while the query did found nothing to drop, so the result is not cached.
+            events.forEach(event -> listingsByEvent.computeIfAbsent(event.getId(), id -> ConcurrentHashMap.newKeySet()).add(k));
+            if (invalidatedSince(events, stamp, started)) {
+                stale.set(events);
+                return null;
+            }
+            return events;
+        });
+        return cached != null ? cached : stale.get();
+    }
+
+    private boolean invalidatedSince(List<EventSummaryDto> events, long stamp, long started) {
+        if (System.nanoTime() - started >= LOAD_WINDOW.toNanos()) {
+            return true;
+        }
+        return events.stream()
+                .map(event -> invalidatedAt.getIfPresent(event.getId()))
+                .anyMatch(sequence -> sequence != null && sequence > stamp);
+    }
+
+    private void invalidateEvent(String eventId) {
+        invalidatedAt.put(eventId, invalidations.incrementAndGet());
+        details.invalidate(eventId);
+        Set<ListingKey> keys = listingsByEvent.remove(eventId);
+        if (keys != null) {
+            listings.invalidateAll(keys);
+        }
+    }
+
+    private void unregister(ListingKey key, List<EventSummaryDto> events) {
+        if (events == null) {
+            return;
+        }
+        for (EventSummaryDto event : events) {
+            listingsByEvent.computeIfPresent(event.getId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private static ListingKey categoryKey(EventCategory category) {
+        return new ListingKey("category", category.name());
+    }
+
+    private static ListingKey cityKey(String city) {
+        return new ListingKey("city", city);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.eventmanagerbackend.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("event-cache")
+public class EventCacheProperties {
+    private int detailMaxSize = 10_000;
+    private int listingMaxSize = 1_000;
+    // Upper bound on staleness for changes that bypass EventService (e.g. manual SQL)
+    private Duration ttl = Duration.ofMinutes(10);
+}
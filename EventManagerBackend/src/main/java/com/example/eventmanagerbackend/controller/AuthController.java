@@ -2,8 +2,11 @@ package com.example.eventmanagerbackend.controller;
 
 import com.example.eventmanagerbackend.model.LoginRequest;
 import com.example.eventmanagerbackend.model.LoginResponse;
+import com.example.eventmanagerbackend.model.LogoutRequest;
+import com.example.eventmanagerbackend.model.RefreshRequest;
 import com.example.eventmanagerbackend.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,4 +21,17 @@ public class AuthController {
     public LoginResponse login(@RequestBody @Validated LoginRequest request){
         return authService.attemptLogin(request.getEmail(), request.getPassword());
     }
+
+    // Trade a refresh token for a new access/refresh token pair
+    @PostMapping("/auth/refresh")
+    public LoginResponse refresh(@RequestBody RefreshRequest request){
+        return authService.refresh(request.getRefreshToken());
+    }
+
+    // Revoke the tokens in the body, no Authorization header needed
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Void> logout(@RequestBody LogoutRequest request){
+        authService.logout(request.getAccessToken(), request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
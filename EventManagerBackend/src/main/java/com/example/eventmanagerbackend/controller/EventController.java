@@ -1,21 +1,39 @@
 package com.example.eventmanagerbackend.controller;
 
+import com.example.eventmanagerbackend.admission.WaitingRoomService;
+import com.example.eventmanagerbackend.bulk.EventCsv;
+import com.example.eventmanagerbackend.bulk.EventImportService;
+import com.example.eventmanagerbackend.dto.CursorPageDto;
 import com.example.eventmanagerbackend.dto.EventCreateDto;
+import com.example.eventmanagerbackend.dto.EventImportResultDto;
+import com.example.eventmanagerbackend.dto.EventQueryDto;
 import com.example.eventmanagerbackend.dto.EventRatingDto;
 import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
 import com.example.eventmanagerbackend.dto.EventUpdateDto;
-import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.dto.GroupBookingDto;
+import com.example.eventmanagerbackend.dto.PageDto;
 import com.example.eventmanagerbackend.enums.EventCategory;
+import com.example.eventmanagerbackend.live.LiveUpdateService;
+import com.example.eventmanagerbackend.querycount.QueryBudget;
+import com.example.eventmanagerbackend.search.EventSearchService;
 import com.example.eventmanagerbackend.security.UserPrincipal;
 import com.example.eventmanagerbackend.service.EventService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,6 +42,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EventController {
     private final EventService eventService;
+    private final EventSearchService eventSearchService;
+    private final EventImportService eventImportService;
+    private final WaitingRoomService waitingRoomService;
+    private final LiveUpdateService liveUpdateService;
 
     @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping("/create")
@@ -34,6 +56,16 @@ public class EventController {
             return ResponseEntity.ok(createdEvent);
     }
 
+    // Bulk create from an NDJSON or CSV body, one event per line, read and inserted in chunks
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<EventImportResultDto> importEvents(InputStream body,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             @AuthenticationPrincipal UserPrincipal user
+    ) throws IOException {
+        return ResponseEntity.ok(eventImportService.importEvents(body, MediaType.parseMediaType(contentType), user.getUserId()));
+    }
+
     @PreAuthorize("hasAuthority('ADMIN')")
     @PutMapping("/update")
     public ResponseEntity<EventResponseDto> updateEvent(@RequestBody EventUpdateDto event
@@ -42,19 +74,35 @@ public class EventController {
         return ResponseEntity.ok(updatedEvent);
     }
 
-    // Get all events
+    // Get all events, one page at a time
     @GetMapping("/all")
-    public ResponseEntity getAllEvents() {
-        try {
-            List<EventResponseDto> events = eventService.getAllEvents();
-            return ResponseEntity.ok(events);
-        } catch (Exception ex) {
-            System.out.println(ex.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
-        }
+    @QueryBudget(1)
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> getAllEvents(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.getEventsPage(cursor, size));
+    }
+
+    // Stream all events as newline delimited JSON
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEvents() {
+        StreamingResponseBody body = eventService::streamAllEvents;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // Stream all events as CSV, in the column layout accepted by /events/import
+    @GetMapping(value = "/all", params = {"stream=true", "format=csv"})
+    public ResponseEntity<StreamingResponseBody> streamAllEventsCsv() {
+        StreamingResponseBody body = eventService::streamAllEventsCsv;
+        return ResponseEntity.ok()
+                .contentType(EventCsv.TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=events.csv")
+                .body(body);
     }
 
     @GetMapping("/{eventId}")
+    @QueryBudget(1)
     public ResponseEntity getEventById(@PathVariable String eventId) {
         try {
             EventResponseDto event = eventService.getById(eventId);
@@ -65,6 +113,14 @@ public class EventController {
         }
     }
 
+    // Server-Sent Events with the seat count and rating of the event, the current state first, then every change.
+    // Open to anonymous clients, EventSource cannot send an Authorization header and the counters are not personal.
+    @GetMapping(value = "/{eventId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(1)
+    public SseEmitter liveStatus(@PathVariable String eventId, HttpServletRequest request) {
+        return liveUpdateService.subscribe(eventId, request.getRemoteAddr());
+    }
+
     @DeleteMapping("/{eventId}")
     public ResponseEntity deleteById(@PathVariable String eventId) {
         try {
@@ -78,15 +134,34 @@ public class EventController {
 
     @PreAuthorize("hasAuthority('MEMBER')")
     @PostMapping("/{eventId}/book")
+    @QueryBudget(4)
     public ResponseEntity<Void> bookEvent(@PathVariable String eventId,
-                                                        @AuthenticationPrincipal UserPrincipal user
+                                          @RequestHeader(value = WaitingRoomService.TICKET_HEADER, required = false) String ticket,
+                                          @AuthenticationPrincipal UserPrincipal user
     ) {
+        waitingRoomService.checkAdmission(eventId, ticket, user.getUserId());
         eventService.bookEvent(eventId, user.getUserId());
+        waitingRoomService.leave(eventId, user.getUserId());
+        return ResponseEntity.ok().build();
+    }
+
+    @PreAuthorize("hasAuthority('MEMBER')")
+    @PostMapping("/{eventId}/book-group")
+    @QueryBudget(5)
+    public ResponseEntity<Void> bookGroup(@PathVariable String eventId,
+                                          @RequestBody GroupBookingDto groupBooking,
+                                          @RequestHeader(value = WaitingRoomService.TICKET_HEADER, required = false) String ticket,
+                                          @AuthenticationPrincipal UserPrincipal user
+    ) {
+        waitingRoomService.checkAdmission(eventId, ticket, user.getUserId());
+        eventService.bookGroup(eventId, user.getUserId(), groupBooking);
+        waitingRoomService.leave(eventId, user.getUserId());
         return ResponseEntity.ok().build();
     }
 
     @PreAuthorize("hasAuthority('MEMBER')")
     @PostMapping("/{eventId}/rate")
+    @QueryBudget(7)
     public ResponseEntity<Void> rateEvent(@PathVariable String eventId,
                                           @RequestBody EventRatingDto eventRating,
                                           @AuthenticationPrincipal UserPrincipal user
@@ -95,40 +170,64 @@ public class EventController {
         return ResponseEntity.ok().build();
     }
 
+    // Filter events by any combination of category, city, date range, price range and free seats
+    @GetMapping("/query")
+    @QueryBudget(2)
+    public ResponseEntity<PageDto<EventSummaryDto>> queryEvents(@ModelAttribute EventQueryDto query,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.queryEvents(query, page, size));
+    }
+
     // Get events by category
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Event>> findByCategory(@PathVariable EventCategory category) {
+    @QueryBudget(1)
+    public ResponseEntity<List<EventSummaryDto>> findByCategory(@PathVariable EventCategory category) {
         return ResponseEntity.ok(eventService.findByCategory(category));
     }
 
     // Get events by city
     @GetMapping("/city/{city}")
-    public ResponseEntity<List<Event>> getEventsByCity(@PathVariable String city) {
+    @QueryBudget(1)
+    public ResponseEntity<List<EventSummaryDto>> getEventsByCity(@PathVariable String city) {
         return ResponseEntity.ok(eventService.findByCity(city));
     }
 
-    // Get events by title containing a specific keyword
+    // Full-text search over title, description, city and location, best matches first
     @GetMapping("/search")
-    public ResponseEntity<List<Event>> searchEventsByTitle(@RequestParam String keyword) {
-        return ResponseEntity.ok(eventService.findByTitleContainingIgnoreCase(keyword));
+    @QueryBudget(1)
+    public ResponseEntity<PageDto<EventSummaryDto>> searchEvents(@RequestParam String keyword,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventSearchService.search(keyword, page, size));
     }
 
     // Get events occurring after a specific date
     @GetMapping("/date")
-    public ResponseEntity<List<Event>> getEventsByDateAfter(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    @QueryBudget(1)
+    public ResponseEntity<List<EventSummaryDto>> getEventsByDateAfter(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(eventService.findByEventDateAfter(date));
     }
 
     // Get events organized by a specific user
     @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping("/organizer")
-    public ResponseEntity<List<EventResponseDto>> getEventsByOrganizer( @AuthenticationPrincipal UserPrincipal user) {
+    @QueryBudget(1)
+    public ResponseEntity<List<EventSummaryDto>> getEventsByOrganizer( @AuthenticationPrincipal UserPrincipal user) {
         return ResponseEntity.ok(eventService.findByOrganizerId(user.getUserId()));
     }
 
+    @PreAuthorize("hasAuthority('MEMBER')")
+    @GetMapping("/{eventId}/booked")
+    @QueryBudget(1)
+    public ResponseEntity<Boolean> isBooked(@PathVariable String eventId, @AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(eventService.isBooked(eventId, user.getUserId()));
+    }
+
     @PreAuthorize("hasAuthority('MEMBER')")
     @GetMapping("/bookings")
-    public ResponseEntity<List<EventResponseDto>> getBookedEventsByUser(@AuthenticationPrincipal UserPrincipal user) {
+    @QueryBudget(1)
+    public ResponseEntity<List<EventSummaryDto>> getBookedEventsByUser(@AuthenticationPrincipal UserPrincipal user) {
         return ResponseEntity.ok(eventService.findAllByParticipantId(user.getUserId()));
     }
 
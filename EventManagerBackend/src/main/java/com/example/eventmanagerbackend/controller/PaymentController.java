@@ -8,6 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/payment")
@@ -16,17 +18,19 @@ public class PaymentController {
     private final PaymentService paymentService;
 
 
+    // The servlet thread is released while the gateway works, the response is written when it answers
     @PreAuthorize("hasAuthority('MEMBER')")
     @PostMapping("/verify")
-    public ResponseEntity<Void> verifyPayment(
+    public CompletableFuture<ResponseEntity<Void>> verifyPayment(
             @RequestBody PaymentDto paymentInfo
-    ) throws InterruptedException {
-        Thread.sleep(2 * 1000);
-        boolean isPaymentValid = paymentService.verifyPayment(paymentInfo);
-        if (isPaymentValid) {
-            return ResponseEntity.ok().build();
-        }
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    ) {
+        return paymentService.verifyPayment(paymentInfo).thenApply(status -> switch (status) {
+            case APPROVED -> ResponseEntity.ok().build();
+            case DECLINED -> ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            case TIMEOUT -> ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            case ERROR -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        });
     }
 
 }
@@ -0,0 +1,54 @@
+package com.example.eventmanagerbackend.controller;
+
+import com.example.eventmanagerbackend.cache.EventCache;
+import com.example.eventmanagerbackend.dto.CacheStatsDto;
+import com.example.eventmanagerbackend.dto.EventCacheStatsDto;
+import com.example.eventmanagerbackend.dto.PasswordHashingStatsDto;
+import com.example.eventmanagerbackend.security.AdaptiveBCryptPasswordEncoder;
+import com.example.eventmanagerbackend.dto.SeatInventoryStatsDto;
+import com.example.eventmanagerbackend.security.JwtPrincipalCache;
+import com.example.eventmanagerbackend.service.SeatInventoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+    private final SeatInventoryService seatInventoryService;
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final EventCache eventCache;
+    private final AdaptiveBCryptPasswordEncoder passwordEncoder;
+
+    // Contention and retry counters of the booking path
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/seat-inventory")
+    public ResponseEntity<SeatInventoryStatsDto> getSeatInventoryStats() {
+        return ResponseEntity.ok(seatInventoryService.getStats());
+    }
+
+    // Hit/miss counters of the verified token cache in JwtAuthenticationFilter
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/token-cache")
+    public ResponseEntity<CacheStatsDto> getTokenCacheStats() {
+        return ResponseEntity.ok(jwtPrincipalCache.getStats());
+    }
+
+    // Hit ratio and evictions of the event detail and listing caches
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/event-cache")
+    public ResponseEntity<EventCacheStatsDto> getEventCacheStats() {
+        return ResponseEntity.ok(eventCache.getStats());
+    }
+
+    // BCrypt cost in use, its measured hash time and the resulting login throughput per core
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStatsDto> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.getStats());
+    }
+}
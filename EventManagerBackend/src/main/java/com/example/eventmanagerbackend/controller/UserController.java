@@ -1,13 +1,22 @@
 package com.example.eventmanagerbackend.controller;
 
+import com.example.eventmanagerbackend.bulk.EventCsv;
+import com.example.eventmanagerbackend.dto.CursorPageDto;
 import com.example.eventmanagerbackend.entity.User;
 import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.projection.Attendee;
+import com.example.eventmanagerbackend.querycount.QueryBudget;
+import com.example.eventmanagerbackend.security.UserPrincipal;
 import com.example.eventmanagerbackend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -64,9 +73,28 @@ public class UserController {
     public ResponseEntity<List<User>> getUsersByRole(@PathVariable Role role) {
         return ResponseEntity.ok(userService.findByRole(role));
     }
-    // Get users by booked event
+    // Attendees of an event, one page at a time, for its organizer
+    @PreAuthorize("hasAuthority('ADMIN')")
     @GetMapping("/booked-event/{eventId}")
-    public ResponseEntity<List<User>> getUsersByBookedEvent(@PathVariable String eventId) {
-        return ResponseEntity.ok(userService.findUsersByBookedEvent(eventId));
+    @QueryBudget(2)
+    public ResponseEntity<CursorPageDto<Attendee>> getUsersByBookedEvent(@PathVariable String eventId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "100") int size,
+                                                                         @AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(userService.getAttendeesPage(eventId, user.getUserId(), cursor, size));
+    }
+
+    // Full roster as CSV for the organizer, streamed while it is read
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/booked-event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportUsersByBookedEvent(@PathVariable String eventId,
+                                                                          @AuthenticationPrincipal UserPrincipal user) {
+        // Checked before the response is committed, the body is written after this method returned
+        userService.checkOrganizer(eventId, user.getUserId());
+        StreamingResponseBody body = out -> userService.streamAttendeesCsv(eventId, out);
+        return ResponseEntity.ok()
+                .contentType(EventCsv.TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=attendees-" + eventId + ".csv")
+                .body(body);
     }
 }
@@ -0,0 +1,54 @@
+package com.example.eventmanagerbackend.controller;
+
+import com.example.eventmanagerbackend.admission.WaitingRoomService;
+import com.example.eventmanagerbackend.dto.QueueTicketDto;
+import com.example.eventmanagerbackend.dto.WaitingRoomStatusDto;
+import com.example.eventmanagerbackend.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/events/{eventId}/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+    private final WaitingRoomService waitingRoomService;
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PutMapping
+    public ResponseEntity<WaitingRoomStatusDto> open(@PathVariable String eventId,
+                                                     @RequestParam(required = false) Integer rate) {
+        return ResponseEntity.ok(waitingRoomService.open(eventId, rate));
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @DeleteMapping
+    public ResponseEntity<Void> close(@PathVariable String eventId) {
+        waitingRoomService.close(eventId);
+        return ResponseEntity.ok().build();
+    }
+
+    // Queue depth and admission progress
+    @GetMapping
+    public ResponseEntity<WaitingRoomStatusDto> getStatus(@PathVariable String eventId) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(eventId));
+    }
+
+    @PreAuthorize("hasAuthority('MEMBER')")
+    @PostMapping
+    public ResponseEntity<QueueTicketDto> join(@PathVariable String eventId,
+                                               @AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, user.getUserId()));
+    }
+
+    // Poll the position of a ticket
+    @PreAuthorize("hasAuthority('MEMBER')")
+    @GetMapping("/{ticket}")
+    public ResponseEntity<QueueTicketDto> getTicket(@PathVariable String eventId,
+                                                    @PathVariable String ticket,
+                                                    @AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(waitingRoomService.getTicket(eventId, ticket, user.getUserId()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.eventmanagerbackend.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CacheStatsDto {
+    private final long size;
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long evictions;
+
+    public static CacheStatsDto of(long size, CacheStats stats) {
+        return CacheStatsDto.builder()
+                .size(size)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRatio(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+    }
+}
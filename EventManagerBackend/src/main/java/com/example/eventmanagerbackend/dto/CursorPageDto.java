@@ -0,0 +1,14 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class CursorPageDto<T> {
+    private final List<T> items;
+    // Opaque cursor to pass back for the next page, null on the last page
+    private final String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class EventCacheStatsDto {
+    private final CacheStatsDto details;
+    private final CacheStatsDto listings;
+}
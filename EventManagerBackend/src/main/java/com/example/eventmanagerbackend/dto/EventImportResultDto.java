@@ -0,0 +1,16 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class EventImportResultDto {
+    private final long imported;
+    private final long rejected;
+    // False when the input could not be read to the end, the rows before that point are still imported
+    private final boolean complete;
+    private final List<String> errors;
+}
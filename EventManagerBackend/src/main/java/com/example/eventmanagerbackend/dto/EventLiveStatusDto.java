@@ -0,0 +1,16 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// Data of the "status" Server-Sent Event on /events/{eventId}/live
+@Getter
+@Builder
+public class EventLiveStatusDto {
+    private final String eventId;
+    private final int maxParticipants;
+    private final int currentParticipants;
+    private final int seatsLeft;
+    private final float averageRating;
+    private final int ratingCount;
+}
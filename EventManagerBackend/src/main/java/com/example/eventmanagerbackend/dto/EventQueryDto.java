@@ -0,0 +1,23 @@
+package com.example.eventmanagerbackend.dto;
+
+import com.example.eventmanagerbackend.enums.EventCategory;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Filters of /events/query, every field is optional
+@Getter
+@Setter
+public class EventQueryDto {
+    private EventCategory category;
+    private String city;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+    private Float minPrice;
+    private Float maxPrice;
+    private boolean hasFreeSeats;
+}
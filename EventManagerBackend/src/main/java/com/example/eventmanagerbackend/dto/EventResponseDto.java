@@ -6,7 +6,6 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
 
 @Getter
 @Setter
@@ -24,6 +23,6 @@ public class EventResponseDto {
     private int maxParticipants;
     private int currentParticipants;
     private UserDto organizer;
-    private List<UserDto> participants;
     private float averageRating;
+    private int ratingCount;
 }
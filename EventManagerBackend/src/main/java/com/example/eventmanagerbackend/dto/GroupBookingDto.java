@@ -0,0 +1,12 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class GroupBookingDto {
+    private List<String> attendeeIds;
+}
@@ -0,0 +1,15 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class PageDto<T> {
+    private final List<T> items;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+}
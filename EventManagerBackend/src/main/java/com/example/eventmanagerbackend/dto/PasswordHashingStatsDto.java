@@ -0,0 +1,14 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class PasswordHashingStatsDto {
+    private final int cost;
+    private final boolean calibrated;
+    private final double hashMillis;
+    private final double loginsPerSecondPerCore;
+    private final long rehashed;
+}
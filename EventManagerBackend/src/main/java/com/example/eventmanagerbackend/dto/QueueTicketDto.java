@@ -0,0 +1,16 @@
+package com.example.eventmanagerbackend.dto;
+
+import com.example.eventmanagerbackend.enums.QueueStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class QueueTicketDto {
+    // Sent back in the X-Queue-Ticket header when booking
+    private final String ticket;
+    private final long position;
+    private final long ahead;
+    private final QueueStatus status;
+    private final long retryAfterSeconds;
+}
@@ -0,0 +1,16 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class SeatInventoryStatsDto {
+    private final long attempts;
+    private final long admitted;
+    private final long rejectedFull;
+    private final long casRetries;
+    private final long dbConflicts;
+    private final long rolledBack;
+    private final int trackedEvents;
+}
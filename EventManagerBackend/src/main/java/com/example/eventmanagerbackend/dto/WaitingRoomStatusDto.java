@@ -0,0 +1,17 @@
+package com.example.eventmanagerbackend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class WaitingRoomStatusDto {
+    private final String eventId;
+    private final boolean open;
+    private final boolean soldOut;
+    private final int admissionRate;
+    private final long issued;
+    private final long admitted;
+    // Clients still waiting to be admitted
+    private final long depth;
+}
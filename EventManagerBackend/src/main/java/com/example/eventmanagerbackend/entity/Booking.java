@@ -0,0 +1,42 @@
+package com.example.eventmanagerbackend.entity;
+
+import com.example.eventmanagerbackend.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// One seat of one user at one event. Rows are inserted one statement at a time by BookingRepository,
+// the collections pointing here are read-only.
+@Getter
+@Setter
+@Entity
+@Table(name = "bookings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bookings_event_user", columnNames = {"event_id", "user_id"}),
+        indexes = @Index(name = "idx_bookings_user_event", columnList = "user_id, event_id"))
+public class Booking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Who made the booking, the attendee itself or the member who booked a group. Empty on migrated rows.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booked_by_id")
+    private User bookedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private Instant bookedAt;
+}
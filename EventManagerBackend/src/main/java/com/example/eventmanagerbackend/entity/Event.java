@@ -4,20 +4,34 @@ import com.example.eventmanagerbackend.enums.EventCategory;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JavaType;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "Events")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate // seat and rating counters are only changed by EventRepository bulk updates, never rewrite them on saves
+@NamedEntityGraph(name = "Event.summary", attributeNodes = @NamedAttributeNode("organizer"))
+// The detail page only shows the organizer, attendees are paged through /users/booked-event
+@NamedEntityGraph(name = "Event.detail", attributeNodes = @NamedAttributeNode("organizer"))
+@Table(name = "Events", indexes = {
+        @Index(name = "idx_events_event_date_id", columnList = "eventDate, id"),
+        @Index(name = "idx_events_category_event_date", columnList = "category, eventDate"),
+        @Index(name = "idx_events_city_event_date", columnList = "city, eventDate")
+})
 public class Event {
     @Id
+    @JavaType(UuidStringJavaType.class)
     @Column(nullable = false, unique = true)
-    private String id = UUID.randomUUID().toString();
+    private String id = Ids.newId();
 
     @Column(nullable = false)
     private String title;
@@ -53,21 +67,46 @@ public class Event {
     @Column(nullable = false)
     private int currentParticipants = 0;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
 
-    @ManyToMany
-    @JoinTable(
-            name = "event_participants",
-            joinColumns = @JoinColumn(name = "event_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
-    )
-    private List<User> participants;
+    // Read-only view, bookings are inserted through BookingRepository
+    @OneToMany(mappedBy = "event")
+    private List<Booking> bookings;
 
     @Column(nullable = false)
     private float averageRating = 0.f;
 
+    // Running rating aggregates, maintained by EventRepository.applyRatingDelta
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long ratingSum = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int ratingCount = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int oneStarCount = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int twoStarCount = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int threeStarCount = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int fourStarCount = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int fiveStarCount = 0;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<EventRating> ratings;
 }
\ No newline at end of file
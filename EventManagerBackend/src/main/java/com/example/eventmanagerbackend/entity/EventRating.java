@@ -4,23 +4,25 @@ import jakarta.persistence.Id;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
-
-import java.util.UUID;
+import org.hibernate.annotations.JavaType;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "EventRatings")
+// At most one rating per user and event, the rating aggregates on Event count every row
+@Table(name = "EventRatings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_ratings_event_user", columnNames = {"event_id", "user_id"}))
 public class EventRating {
     @Id
+    @JavaType(UuidStringJavaType.class)
     @Column(nullable = false, unique = true)
-    private String id = UUID.randomUUID().toString();
+    private String id = Ids.newId();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
@@ -0,0 +1,16 @@
+package com.example.eventmanagerbackend.entity;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+
+// Time-ordered (version 7) UUIDs, consecutive inserts land next to each other in primary key indexes
+public final class Ids {
+    private static final TimeBasedEpochGenerator GENERATOR = Generators.timeBasedEpochGenerator();
+
+    private Ids() {
+    }
+
+    public static String newId() {
+        return GENERATOR.generate().toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.eventmanagerbackend.entity;
+
+import com.example.eventmanagerbackend.enums.NotificationType;
+import com.example.eventmanagerbackend.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JavaType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// A notification mail, written in the same transaction as the change it reports and sent later by MailOutboxDispatcher.
+// Rows keep a copy of everything the mail shows, so they can still be rendered after the event is gone.
+@Getter
+@Setter
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_due", columnList = "status, nextAttemptAt"))
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column
+    private String recipientName;
+
+    // Not a foreign key, cancellation mails outlive the event
+    @JavaType(UuidStringJavaType.class)
+    @Column(nullable = false)
+    private String eventId;
+
+    @Column
+    private String eventTitle;
+
+    @Column
+    private LocalDate eventDate;
+
+    @Column
+    private LocalTime startTime;
+
+    @Column
+    private String venue;
+
+    // Type specific value, e.g. the rating of an EVENT_RATED mail
+    @Column
+    private String detail;
+
+    // Delivery attempts started so far
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column
+    private Instant sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,37 @@
+package com.example.eventmanagerbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JavaType;
+
+import java.time.Instant;
+
+// A logged out or rotated token (jti), kept until the token would have expired anyway
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt")
+})
+public class RevokedToken {
+    @Id
+    @JavaType(UuidStringJavaType.class)
+    @Column(nullable = false, unique = true)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Other instances pick up revocations by this column, null on rows written before it existed
+    private Instant revokedAt;
+
+    public RevokedToken(String tokenId, Instant expiresAt, Instant revokedAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -4,18 +4,22 @@ import com.example.eventmanagerbackend.enums.Role;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
 
 import java.util.List;
-import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "Users")
 public class User {
     @Id
+    @JavaType(UuidStringJavaType.class)
     @Column(nullable = false, unique = true)
-    private String id = UUID.randomUUID().toString();
+    private String id = Ids.newId();
 
     @Column
     private String fullName = "";
@@ -31,11 +35,9 @@ public class User {
     private Role role;
 
     @OneToMany(mappedBy = "organizer")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Event> organizedEvents;
 
-    @ManyToMany(mappedBy = "participants")
-    private List<Event> bookedEvents;
-
     @OneToMany(mappedBy = "user")
     private List<EventRating> ratings;
 }
@@ -0,0 +1,36 @@
+package com.example.eventmanagerbackend.entity;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.util.UUID;
+
+// Ids stay strings in the application and are stored as native uuid columns (16 bytes instead of 36 characters).
+// Attribute converters are not applied to ids, so the mapping is done at the Java type level.
+// Foreign keys to these ids get the same column type.
+public class UuidStringJavaType extends StringJavaType {
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.UUID);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && type == UUID.class) {
+            return (X) UUID.fromString(value);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return super.wrap(value, options);
+    }
+}
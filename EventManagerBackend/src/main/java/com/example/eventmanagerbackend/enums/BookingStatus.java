@@ -0,0 +1,6 @@
+package com.example.eventmanagerbackend.enums;
+
+public enum BookingStatus {
+    CONFIRMED,
+    CANCELLED
+}
@@ -0,0 +1,9 @@
+package com.example.eventmanagerbackend.enums;
+
+// Each type has a template in resources/mail
+public enum NotificationType {
+    BOOKING_CONFIRMED,
+    EVENT_RATED,
+    EVENT_UPDATED,
+    EVENT_CANCELLED
+}
@@ -0,0 +1,7 @@
+package com.example.eventmanagerbackend.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
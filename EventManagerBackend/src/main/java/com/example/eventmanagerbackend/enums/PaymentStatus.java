@@ -0,0 +1,6 @@
+package com.example.eventmanagerbackend.enums;
+
+public enum PaymentStatus {
+    // ERROR: the gateway failed, the card was not judged either way
+    APPROVED, DECLINED, BUSY, TIMEOUT, ERROR
+}
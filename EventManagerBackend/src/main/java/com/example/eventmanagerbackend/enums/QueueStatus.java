@@ -0,0 +1,7 @@
+package com.example.eventmanagerbackend.enums;
+
+public enum QueueStatus {
+    WAITING,
+    ADMITTED,
+    SOLD_OUT
+}
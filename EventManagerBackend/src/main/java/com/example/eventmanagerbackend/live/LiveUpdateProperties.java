@@ -0,0 +1,33 @@
+package com.example.eventmanagerbackend.live;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("live-updates")
+public class LiveUpdateProperties {
+    // Changes are collected and pushed once per tick, at most one message per event and tick
+    private Duration tick = Duration.ofMillis(500);
+    // Comment lines sent on idle streams so proxies keep them open and dead clients are noticed
+    private Duration heartbeat = Duration.ofSeconds(20);
+    // Streams are closed after this long, browsers reconnect on their own
+    private Duration timeout = Duration.ofMinutes(30);
+    // Delay browsers wait before reconnecting
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+    // Open streams across all events, each one holds a connection
+    private int maxSubscribers = 25_000;
+    // Open streams from one client address, a hot event may hold most of maxSubscribers but no single client can.
+    // The address is taken from X-Forwarded-For of trusted proxies (server.forward-headers-strategy), clients behind
+    // one NAT still share the limit, so it leaves room for many tabs.
+    private int maxSubscribersPerClient = 50;
+    // A stream whose write has not finished after this long is dropped, its client stopped reading
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    // Threads writing frames, a client that stopped reading holds one until its socket write times out
+    private int writerThreads = 16;
+}
@@ -0,0 +1,256 @@
+package com.example.eventmanagerbackend.live;
+
+import com.example.eventmanagerbackend.Transactions;
+import com.example.eventmanagerbackend.dto.EventLiveStatusDto;
+import com.example.eventmanagerbackend.projection.EventLiveStatus;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Pushes seat counts and ratings to the open detail pages of an event over Server-Sent Events.
+// A change only marks its event dirty. Once per tick all dirty events are read in one query, each state is serialized
+// once and the same frame is written to every subscriber, so a burst of bookings becomes one message per tick.
+// Idle streams cost no thread, only their connection and the emitter. Frames are queued per stream for the writer pool
+// and never waited for: a stream that is still writing only keeps the newest frame, one stuck past sendTimeout is dropped.
+@Service
+public class LiveUpdateService {
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final LiveUpdateProperties properties;
+    private final Counter messages;
+    private final ExecutorService writers;
+
+    // eventId -> open streams
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // clientId -> open streams
+    private final ConcurrentHashMap<String, Integer> streamsPerClient = new ConcurrentHashMap<>();
+    // Events changed since the last tick
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public LiveUpdateService(EventRepository eventRepository, ObjectMapper objectMapper,
+                             LiveUpdateProperties properties, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.messages = meterRegistry.counter("events.live.messages");
+        // Platform threads: SseEmitter.send is synchronized, a virtual thread blocked in a write would pin its
+        // carrier and starve request handling
+        this.writers = Executors.newFixedThreadPool(properties.getWriterThreads(),
+                Thread.ofPlatform().name("live-writer-", 0).daemon().factory());
+        Gauge.builder("events.live.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    // Starts with the current state, then sends every change until the client goes away or the stream times out.
+    // clientId is the caller's address, streams are anonymous and one client must not take every connection.
+    public SseEmitter subscribe(String eventId, String clientId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new SubscriberLimitException("Too many live subscribers", properties.getReconnectDelay().toSeconds());
+        }
+        if (streamsPerClient.merge(clientId, 1, Integer::sum) > properties.getMaxSubscribersPerClient()) {
+            release(clientId);
+            subscriberCount.decrementAndGet();
+            throw new SubscriberLimitException("Too many live streams from this client", properties.getReconnectDelay().toSeconds());
+        }
+
+        Subscriber subscriber = new Subscriber(eventId, clientId, new SseEmitter(properties.getTimeout().toMillis()));
+        subscribers.compute(eventId, (id, streams) -> {
+            Set<Subscriber> result = streams == null ? ConcurrentHashMap.newKeySet() : streams;
+            result.add(subscriber);
+            return result;
+        });
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+
+        // Read after registering, a change committed in between is pushed on the next tick instead of lost
+        EventLiveStatus status = eventRepository.findLiveStatusById(eventId).orElse(null);
+        if (status == null) {
+            unsubscribe(subscriber);
+            throw new EntityNotFoundException("Event not found");
+        }
+        // Written right away, the response is not open yet and the emitter only buffers it
+        send(subscriber, SseEmitter.event()
+                .reconnectTime(properties.getReconnectDelay().toMillis())
+                .name("status")
+                .data(toJson(status))
+                .build());
+        return emitter;
+    }
+
+    // Seat count, capacity or rating of the event changed, pushed on the next tick once the change is committed
+    public void eventChanged(String eventId) {
+        if (subscribers.containsKey(eventId)) {
+            Transactions.afterCommit(() -> dirty.add(eventId));
+        }
+    }
+
+    // Tells the subscribers and closes their streams
+    public void eventDeleted(String eventId) {
+        Transactions.afterCommit(() -> {
+            Set<Subscriber> streams = subscribers.get(eventId);
+            if (streams != null) {
+                Frame deleted = new Frame(SseEmitter.event().name("deleted").data(eventId).build(), true);
+                streams.forEach(subscriber -> subscriber.offer(deleted));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${live-updates.tick}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        // Changes that land while this tick runs mark their event again and go out with the next one
+        List<String> eventIds = new ArrayList<>(dirty);
+        dirty.removeAll(eventIds);
+        for (EventLiveStatus status : eventRepository.findLiveStatusByIdIn(eventIds)) {
+            Set<Subscriber> streams = subscribers.get(status.getId());
+            if (streams != null) {
+                Frame frame = new Frame(SseEmitter.event().name("status").data(toJson(status)).build(), false);
+                streams.forEach(subscriber -> subscriber.offer(frame));
+            }
+        }
+    }
+
+    // Also notices the streams that stopped reading, every one of them gets a ping or still has a frame pending
+    @Scheduled(fixedDelayString = "${live-updates.heartbeat}")
+    public void heartbeat() {
+        Frame ping = new Frame(SseEmitter.event().comment("ping").build(), false);
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.ping(ping)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // False when the stream is gone
+    private boolean send(Subscriber subscriber, Set<DataWithMediaType> frame) {
+        try {
+            subscriber.emitter.send(frame);
+            messages.increment();
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Disconnected or already completed, the container reports the error to the emitter as well
+            unsubscribe(subscriber);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.eventId, (id, streams) -> {
+            removed[0] = streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        if (removed[0]) {
+            release(subscriber.clientId);
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private void release(String clientId) {
+        streamsPerClient.computeIfPresent(clientId, (id, streams) -> streams > 1 ? streams - 1 : null);
+    }
+
+    private String toJson(EventLiveStatus status) {
+        EventLiveStatusDto dto = EventLiveStatusDto.builder()
+                .eventId(status.getId())
+                .maxParticipants(status.getMaxParticipants())
+                .currentParticipants(status.getCurrentParticipants())
+                .seatsLeft(Math.max(0, status.getMaxParticipants() - status.getCurrentParticipants()))
+                .averageRating(status.getAverageRating())
+                .ratingCount(status.getRatingCount())
+                .build();
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // A deleted frame is the last one, the stream is closed once it is written
+    private record Frame(Set<DataWithMediaType> data, boolean last) {
+    }
+
+    // An open stream and its writer. Frames carry the whole state, so a newer one replaces a frame still waiting.
+    private class Subscriber {
+        private final String eventId;
+        private final String clientId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Frame> pending = new AtomicReference<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        // System.nanoTime() when the current write started
+        private volatile long writeStarted;
+
+        Subscriber(String eventId, String clientId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.clientId = clientId;
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            pending.updateAndGet(current -> current != null && current.last() ? current : frame);
+            wakeWriter();
+        }
+
+        // Only when nothing else is waiting, a status frame keeps the stream alive just as well
+        void ping(Frame frame) {
+            pending.compareAndSet(null, frame);
+            wakeWriter();
+        }
+
+        private void wakeWriter() {
+            if (writing.compareAndSet(false, true)) {
+                writeStarted = System.nanoTime();
+                writers.execute(this::drain);
+            } else if (System.nanoTime() - writeStarted > properties.getSendTimeout().toNanos()) {
+                unsubscribe(this);
+                // Completing dispatches to the container, which may wait for the stuck write
+                writers.execute(emitter::complete);
+            }
+        }
+
+        private void drain() {
+            do {
+                Frame frame;
+                while ((frame = pending.getAndSet(null)) != null) {
+                    writeStarted = System.nanoTime();
+                    if (!send(this, frame.data())) {
+                        return;
+                    }
+                    if (frame.last()) {
+                        emitter.complete();
+                        return;
+                    }
+                }
+                writing.set(false);
+                // A frame offered after the last poll but before writing was cleared found the writer still running
+            } while (pending.get() != null && writing.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.eventmanagerbackend.live;
+
+import lombok.Getter;
+
+// Too many live streams are open already
+@Getter
+public class SubscriberLimitException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public SubscriberLimitException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.eventmanagerbackend.mapper;
+
+import com.example.eventmanagerbackend.dto.EventCreateDto;
+import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
+import com.example.eventmanagerbackend.dto.UserDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.User;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+// Implementation is generated at compile time, no reflection at runtime
+@Mapper(componentModel = "spring")
+public interface EventMapper {
+    // Neither DTO touches the bookings collection
+    EventResponseDto toResponseDto(Event event);
+
+    EventSummaryDto toSummaryDto(Event event);
+
+    UserDto toUserDto(User user);
+
+    // Organizer, counters and collections are set by the service
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+    Event toEntity(EventCreateDto eventDto);
+}
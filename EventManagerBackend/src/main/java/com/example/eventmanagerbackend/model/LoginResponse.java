@@ -7,4 +7,5 @@ import lombok.Getter;
 @Builder
 public class LoginResponse {
     private final String accessToken;
+    private final String refreshToken;
 }
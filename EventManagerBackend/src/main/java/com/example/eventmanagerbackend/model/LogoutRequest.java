@@ -0,0 +1,11 @@
+package com.example.eventmanagerbackend.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LogoutRequest {
+    private String accessToken;
+    private String refreshToken;
+}
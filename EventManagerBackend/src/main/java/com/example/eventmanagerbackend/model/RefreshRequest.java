@@ -0,0 +1,10 @@
+package com.example.eventmanagerbackend.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RefreshRequest {
+    private String refreshToken;
+}
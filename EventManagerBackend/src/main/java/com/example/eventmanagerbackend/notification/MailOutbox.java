@@ -0,0 +1,37 @@
+package com.example.eventmanagerbackend.notification;
+
+import com.example.eventmanagerbackend.enums.NotificationType;
+import com.example.eventmanagerbackend.repository.OutboxMessageRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+
+// Queues notification mails as part of the caller's transaction, they are only sent once it commits.
+// Every method is a single INSERT ... SELECT, nothing waits for SMTP.
+@Component
+@Transactional(Transactional.TxType.MANDATORY)
+public class MailOutbox {
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    public void bookingConfirmed(String eventId, Collection<String> userIds) {
+        outboxMessageRepository.addBookingConfirmations(eventId, userIds, Instant.now());
+    }
+
+    public void eventRated(String eventId, int rating) {
+        outboxMessageRepository.addForOrganizer(NotificationType.EVENT_RATED, eventId, String.valueOf(rating), Instant.now());
+    }
+
+    // Copies the event as changed so far in this transaction, pending changes are flushed before the insert
+    public void eventUpdated(String eventId) {
+        outboxMessageRepository.addForAttendees(NotificationType.EVENT_UPDATED, eventId, Instant.now());
+    }
+
+    // Call before the bookings are deleted
+    public void eventCancelled(String eventId) {
+        outboxMessageRepository.addForAttendees(NotificationType.EVENT_CANCELLED, eventId, Instant.now());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.eventmanagerbackend.notification;
+
+import com.example.eventmanagerbackend.entity.OutboxMessage;
+import com.example.eventmanagerbackend.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Sends the mails queued by MailOutbox. Each run claims due rows in batches, sends them with bounded concurrency
+// and records the outcome. Failed sends are retried with exponential backoff.
+// Claiming skips rows locked by other instances, so several instances can dispatch from the same table.
+@Component
+public class MailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MailTemplates mailTemplates;
+    private final JavaMailSender mailSender;
+    private final MailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService senders;
+
+    public MailOutboxDispatcher(OutboxMessageRepository outboxMessageRepository, MailTemplates mailTemplates,
+                                JavaMailSender mailSender, MailOutboxProperties properties,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.mailTemplates = mailTemplates;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        // Platform threads: JavaMail blocks on sockets inside synchronized methods, which would pin virtual threads
+        // to their carriers and starve request handling
+        this.senders = Executors.newFixedThreadPool(properties.getMaxConcurrent(),
+                Thread.ofPlatform().name("mail-sender-", 0).daemon().factory());
+    }
+
+    @Scheduled(fixedDelayString = "${mail-outbox.poll-interval}")
+    public void dispatch() {
+        List<OutboxMessage> batch;
+        do {
+            batch = claim();
+            if (!batch.isEmpty() && !send(batch)) {
+                return;
+            }
+        } while (batch.size() == properties.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "1h", initialDelayString = "1m")
+    public void purgeSent() {
+        int deleted = outboxMessageRepository.deleteSentBefore(Instant.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            logger.info("Deleted {} sent mails from the outbox", deleted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    // Takes a lease on a batch of due messages, committed before anything is sent
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxMessage> due = outboxMessageRepository.findDueForUpdate(now, Limit.of(properties.getBatchSize()));
+            for (OutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(properties.getLease()));
+            }
+            return due;
+        });
+    }
+
+    // False when interrupted, the unreported messages are sent again once their lease runs out
+    private boolean send(List<OutboxMessage> batch) {
+        List<Callable<Exception>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(() -> trySend(message));
+        }
+
+        List<Long> sent = new ArrayList<>();
+        try {
+            List<Future<Exception>> results = senders.invokeAll(sends);
+            for (int i = 0; i < batch.size(); i++) {
+                Exception failure = results.get(i).get();
+                if (failure == null) {
+                    sent.add(batch.get(i).getId());
+                } else {
+                    failed(batch.get(i), failure);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            if (!sent.isEmpty()) {
+                outboxMessageRepository.markSent(sent, Instant.now());
+                meterRegistry.counter("mail.outbox.messages", "outcome", "sent").increment(sent.size());
+            }
+        }
+        return true;
+    }
+
+    // Any exception is a failed attempt: one that escaped would leave the row leased and retried forever, without
+    // ever reaching maxAttempts
+    private Exception trySend(OutboxMessage message) {
+        try {
+            SimpleMailMessage mail = mailTemplates.render(message);
+            mail.setFrom(properties.getFrom());
+            mailSender.send(mail);
+            return null;
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private void failed(OutboxMessage message, Exception failure) {
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+        if (message.getAttempts() >= properties.getMaxAttempts()) {
+            logger.error("Giving up on mail {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+            outboxMessageRepository.markFailed(message.getId(), error);
+            meterRegistry.counter("mail.outbox.messages", "outcome", "failed").increment();
+        } else {
+            Duration backoff = backoff(message.getAttempts());
+            logger.warn("Mail {} to {} failed, retrying in {}: {}", message.getId(), message.getRecipient(), backoff, error);
+            outboxMessageRepository.reschedule(message.getId(), Instant.now().plus(backoff), error);
+            meterRegistry.counter("mail.outbox.messages", "outcome", "retried").increment();
+        }
+    }
+
+    // initialBackoff, then doubled per attempt, capped at maxBackoff
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.eventmanagerbackend.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("mail-outbox")
+public class MailOutboxProperties {
+    private String from = "no-reply@eventmanager.local";
+    // Pause between dispatcher runs, a run drains everything that is due
+    private Duration pollInterval = Duration.ofSeconds(1);
+    // Messages claimed per transaction
+    private int batchSize = 50;
+    // SMTP sends in flight at once
+    private int maxConcurrent = 8;
+    // A claimed message is offered again after this long if its dispatcher never reported back
+    private Duration lease = Duration.ofMinutes(5);
+    // Delay before the first retry, doubled for each further attempt up to maxBackoff
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    // Messages are marked FAILED after this many attempts
+    private int maxAttempts = 8;
+    // Sent messages are deleted after this long
+    private Duration retention = Duration.ofDays(7);
+}
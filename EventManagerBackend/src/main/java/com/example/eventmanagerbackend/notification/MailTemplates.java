@@ -0,0 +1,75 @@
+package com.example.eventmanagerbackend.notification;
+
+import com.example.eventmanagerbackend.entity.OutboxMessage;
+import com.example.eventmanagerbackend.enums.NotificationType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Plain text templates in resources/mail, one per NotificationType (BOOKING_CONFIRMED -> booking-confirmed.txt).
+// The first line is the subject, the body starts after the blank line below it. ${name} placeholders are filled
+// from the outbox row in a single pass: values are user input (names, titles) and are copied literally, so a title
+// containing "${x}" is never parsed as another placeholder.
+@Component
+public class MailTemplates {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+
+    private final Map<NotificationType, Template> templates = new EnumMap<>(NotificationType.class);
+
+    public MailTemplates() {
+        for (NotificationType type : NotificationType.values()) {
+            templates.put(type, load(type));
+        }
+    }
+
+    public SimpleMailMessage render(OutboxMessage message) {
+        Template template = templates.get(message.getType());
+        Map<String, String> values = new HashMap<>();
+        values.put("recipientName", Objects.toString(message.getRecipientName(), ""));
+        values.put("eventTitle", Objects.toString(message.getEventTitle(), ""));
+        values.put("eventDate", Objects.toString(message.getEventDate(), ""));
+        values.put("startTime", Objects.toString(message.getStartTime(), ""));
+        values.put("venue", Objects.toString(message.getVenue(), ""));
+        values.put("detail", Objects.toString(message.getDetail(), ""));
+
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(message.getRecipient());
+        mail.setSubject(fill(template.subject(), values));
+        mail.setText(fill(template.body(), values));
+        return mail;
+    }
+
+    private static String fill(String text, Map<String, String> values) {
+        return PLACEHOLDER.matcher(text).replaceAll(match -> {
+            String value = values.get(match.group(1));
+            if (value == null) {
+                throw new IllegalStateException("Unknown mail placeholder " + match.group());
+            }
+            return Matcher.quoteReplacement(value);
+        });
+    }
+
+    private static Template load(NotificationType type) {
+        String name = "mail/" + type.name().toLowerCase().replace('_', '-') + ".txt";
+        try {
+            String text = new ClassPathResource(name).getContentAsString(StandardCharsets.UTF_8);
+            String[] parts = text.split("\\R", 2);
+            return new Template(parts[0], parts.length > 1 ? parts[1].stripLeading() : "");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Missing mail template " + name, ex);
+        }
+    }
+
+    private record Template(String subject, String body) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.eventmanagerbackend.payment;
+
+import com.example.eventmanagerbackend.dto.PaymentDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Stand-in for a real provider: accepts a single test card after a configurable delay.
+// The delay is scheduled, no thread waits for it, and the answer is produced on the application task executor
+// (virtual threads when spring.threads.virtual.enabled is set). Cancelling a verification drops its scheduled answer.
+@Component
+public class LocalPaymentGateway implements PaymentGateway {
+    private static final String VALID_CARD_NUMBER = "1234567812345678";
+    private static final String VALID_EXPIRATION_DATE = "24/12";
+    private static final String VALID_CVV = "999";
+
+    private final PaymentProperties properties;
+    private final Executor taskExecutor;
+    // Only hands the answers over to taskExecutor, one thread is enough
+    private final ScheduledThreadPoolExecutor delays;
+
+    public LocalPaymentGateway(PaymentProperties properties,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+        this.delays = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("payment-gateway-delay").daemon().factory());
+        // Cancelled verifications must not pile up in the queue until their delay runs out
+        this.delays.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verify(PaymentDto paymentInfo) {
+        CompletableFuture<Boolean> verification = new CompletableFuture<>();
+        ScheduledFuture<?> answer = delays.schedule(() -> answer(verification, paymentInfo),
+                properties.getGatewayLatency().toMillis(), TimeUnit.MILLISECONDS);
+        verification.whenComplete((valid, ex) -> {
+            if (verification.isCancelled()) {
+                answer.cancel(false);
+            }
+        });
+        return verification;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        delays.shutdownNow();
+    }
+
+    private void answer(CompletableFuture<Boolean> verification, PaymentDto paymentInfo) {
+        try {
+            taskExecutor.execute(() -> {
+                if (!verification.isDone()) {
+                    verification.complete(isValid(paymentInfo));
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            verification.completeExceptionally(ex);
+        }
+    }
+
+    private boolean isValid(PaymentDto paymentInfo) {
+        return VALID_CARD_NUMBER.equals(paymentInfo.getCardNumber())
+                && VALID_EXPIRATION_DATE.equals(paymentInfo.getExpirationDate())
+                && VALID_CVV.equals(paymentInfo.getCvv());
+    }
+}
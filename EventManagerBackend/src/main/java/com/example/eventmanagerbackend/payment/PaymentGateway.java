@@ -0,0 +1,12 @@
+package com.example.eventmanagerbackend.payment;
+
+import com.example.eventmanagerbackend.dto.PaymentDto;
+
+import java.util.concurrent.CompletableFuture;
+
+// Verifies card details with a payment provider, implementations must not block the calling thread.
+// Cancelling the returned future has to abort the call, PaymentService does so when it gives up waiting and frees
+// the call's slot right away, so nothing may keep running for a cancelled call.
+public interface PaymentGateway {
+    CompletableFuture<Boolean> verify(PaymentDto paymentInfo);
+}
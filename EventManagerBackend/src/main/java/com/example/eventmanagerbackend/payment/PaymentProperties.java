@@ -0,0 +1,21 @@
+package com.example.eventmanagerbackend.payment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("payment")
+public class PaymentProperties {
+    // Simulated response time of LocalPaymentGateway
+    private Duration gatewayLatency = Duration.ofSeconds(2);
+    // Give up on the gateway after this long
+    private Duration timeout = Duration.ofSeconds(5);
+    // Verifications in flight at once, further checkouts are turned away
+    private int maxConcurrent = 500;
+}
@@ -0,0 +1,8 @@
+package com.example.eventmanagerbackend.projection;
+
+// Roster row, leaves out the password hash and the user's collections
+public interface Attendee {
+    String getId();
+    String getFullName();
+    String getEmail();
+}
@@ -0,0 +1,9 @@
+package com.example.eventmanagerbackend.projection;
+
+public interface EventLiveStatus {
+    String getId();
+    int getMaxParticipants();
+    int getCurrentParticipants();
+    float getAverageRating();
+    int getRatingCount();
+}
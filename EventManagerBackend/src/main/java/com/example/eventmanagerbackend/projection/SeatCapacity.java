@@ -0,0 +1,6 @@
+package com.example.eventmanagerbackend.projection;
+
+public interface SeatCapacity {
+    int getMaxParticipants();
+    int getCurrentParticipants();
+}
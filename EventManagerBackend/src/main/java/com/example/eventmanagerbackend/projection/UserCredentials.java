@@ -0,0 +1,11 @@
+package com.example.eventmanagerbackend.projection;
+
+import com.example.eventmanagerbackend.enums.Role;
+
+// Only the columns needed to authenticate a user
+public interface UserCredentials {
+    String getId();
+    String getEmail();
+    String getPassword();
+    Role getRole();
+}
@@ -0,0 +1,136 @@
+package com.example.eventmanagerbackend.querycount;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Checks the statement count of every request against the @QueryBudget of the endpoint that served it.
+// In strict mode the response is buffered so an N+1 regression turns into a 500 instead of a log line.
+// The count is also left on the request under STATEMENTS_ATTRIBUTE, where the tests read it.
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final QueryGuardProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (properties.isStrict() && !isAsyncDispatch(request)) {
+            responseToUse = new BudgetResponseWrapper(request, response);
+        }
+
+        int statements;
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            statements = QueryCountInspector.stop();
+        }
+        String overrun = checkBudget(request, statements);
+        if (isAsyncStarted(request)) {
+            // Streamed bodies bypass the buffer and anything else is copied on the async dispatch,
+            // an overrun of an async endpoint can only be logged
+            return;
+        }
+
+        BudgetResponseWrapper buffered = WebUtils.getNativeResponse(responseToUse, BudgetResponseWrapper.class);
+        if (overrun != null && buffered != null) {
+            buffered.resetBuffer();
+            buffered.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            buffered.setContentType("text/plain");
+            buffered.getWriter().write(overrun);
+            buffered.getWriter().flush();
+        }
+        if (buffered != null) {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    // Returns the overrun message, or null when the endpoint stayed within its budget or has none.
+    // The statements of an async dispatch only render the result, the handler ran on the initial dispatch.
+    private String checkBudget(HttpServletRequest request, int statements) {
+        if (isAsyncDispatch(request)) {
+            return null;
+        }
+        request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+        QueryBudget budget = findBudget(request);
+        if (budget == null || statements <= budget.value()) {
+            return null;
+        }
+        String message = "Query budget exceeded for " + request.getMethod() + " " + request.getRequestURI()
+                + ": " + statements + " statements, budget is " + budget.value();
+        logger.warn(message);
+        return message;
+    }
+
+    private QueryBudget findBudget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return handler.getMethodAnnotation(QueryBudget.class);
+        }
+        return null;
+    }
+
+    // Buffers the body until the budget is checked, except once the request went async:
+    // Server-Sent Events and streamed exports have to reach the client as they are written
+    private static class BudgetResponseWrapper extends ContentCachingResponseWrapper {
+        private final HttpServletRequest request;
+
+        BudgetResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return streaming() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return streaming() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (streaming()) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        private boolean streaming() throws IOException {
+            if (!request.isAsyncStarted()) {
+                return false;
+            }
+            if (getContentSize() > 0) {
+                copyBodyToResponse();
+            }
+            return true;
+        }
+    }
+}
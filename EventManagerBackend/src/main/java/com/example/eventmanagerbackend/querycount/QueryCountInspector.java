@@ -0,0 +1,28 @@
+package com.example.eventmanagerbackend.querycount;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the statements Hibernate prepares on the current thread, registered through
+// spring.jpa.properties.hibernate.session_factory.statement_inspector
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    public static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.eventmanagerbackend.querycount;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("query-guard")
+public class QueryGuardProperties {
+    // Fail requests that go over their @QueryBudget instead of only logging them
+    private boolean strict;
+}
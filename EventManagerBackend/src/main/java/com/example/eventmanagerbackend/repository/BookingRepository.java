@@ -0,0 +1,52 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.entity.Booking;
+import com.example.eventmanagerbackend.enums.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+    // Bookings are written with single INSERT statements, nothing is loaded first.
+    // Declaring the touched table keeps Hibernate from clearing every second-level cache region.
+
+    // Fails on the (event_id, user_id) unique constraint when the user already booked the event
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "INSERT INTO bookings (event_id, user_id, booked_by_id, status, booked_at) " +
+            "VALUES (CAST(:eventId AS uuid), CAST(:userId AS uuid), CAST(:userId AS uuid), 'CONFIRMED', :bookedAt)", nativeQuery = true)
+    void insertConfirmed(@Param("eventId") String eventId, @Param("userId") String userId,
+                         @Param("bookedAt") Instant bookedAt);
+
+    // Book a whole group in one statement, users that do not exist are skipped so the caller compares the row count.
+    // Written in HQL so the id list is bound with the uuid column type.
+    @Modifying
+    @Query("INSERT INTO Booking (event, user, bookedBy, status, bookedAt) " +
+            "SELECT e, u, booker, com.example.eventmanagerbackend.enums.BookingStatus.CONFIRMED, :bookedAt " +
+            "FROM Event e, User u, User booker WHERE e.id = :eventId AND u.id IN :userIds AND booker.id = :bookerId")
+    int insertConfirmedGroup(@Param("eventId") String eventId, @Param("userIds") Collection<String> userIds,
+                             @Param("bookerId") String bookerId, @Param("bookedAt") Instant bookedAt);
+
+    // Which of the given users already booked the event
+    @Query("SELECT b.user.id FROM Booking b WHERE b.event.id = :eventId AND b.user.id IN :userIds")
+    List<String> findBookedUserIds(@Param("eventId") String eventId, @Param("userIds") Collection<String> userIds);
+
+    // Whether the user holds a confirmed seat, answered from the (event_id, user_id) unique index
+    boolean existsByEventIdAndUserIdAndStatus(String eventId, String userId, BookingStatus status);
+
+    // Used before deleting the event, without loading its bookings
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") String eventId);
+}
@@ -0,0 +1,12 @@
+package com.example.eventmanagerbackend.repository;
+
+// Seat and rating counters of a single event, updated in place without loading the event.
+// Only the changed event leaves the second-level cache, see EventCounterRepositoryImpl.
+public interface EventCounterRepository {
+    // Take seats only if they are still available, returns 0 when the event is full
+    int reserveSeats(String eventId, int seats);
+
+    // Update the running rating aggregates in place, the average is computed from the pre-update values
+    int applyRatingDelta(String eventId, long sumDelta, int countDelta,
+                         int oneStarDelta, int twoStarDelta, int threeStarDelta, int fourStarDelta, int fiveStarDelta);
+}
@@ -0,0 +1,67 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.Transactions;
+import com.example.eventmanagerbackend.entity.Event;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+// A JPQL bulk update evicts the whole Event region and every cached query over the events table, on every booking.
+// These run as native statements in a query space nothing reads, so cached catalog queries stay valid (none of them
+// filter on the counters). Only the changed event is evicted from the second-level cache, through the JPA Cache API.
+@Transactional
+class EventCounterRepositoryImpl implements EventCounterRepository {
+    private static final String COUNTERS_SPACE = "event_counters";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int reserveSeats(String eventId, int seats) {
+        return execute(eventId, update(eventId, "UPDATE events SET current_participants = current_participants + :seats " +
+                "WHERE id = CAST(:eventId AS uuid) AND current_participants + :seats <= max_participants")
+                .setParameter("seats", seats));
+    }
+
+    @Override
+    public int applyRatingDelta(String eventId, long sumDelta, int countDelta,
+                                int oneStarDelta, int twoStarDelta, int threeStarDelta, int fourStarDelta, int fiveStarDelta) {
+        return execute(eventId, update(eventId, "UPDATE events SET rating_sum = rating_sum + :sumDelta, " +
+                "rating_count = rating_count + :countDelta, " +
+                "one_star_count = one_star_count + :oneStarDelta, " +
+                "two_star_count = two_star_count + :twoStarDelta, " +
+                "three_star_count = three_star_count + :threeStarDelta, " +
+                "four_star_count = four_star_count + :fourStarDelta, " +
+                "five_star_count = five_star_count + :fiveStarDelta, " +
+                "average_rating = CAST(rating_sum + :sumDelta AS real) / (rating_count + :countDelta) " +
+                "WHERE id = CAST(:eventId AS uuid)")
+                .setParameter("sumDelta", sumDelta)
+                .setParameter("countDelta", countDelta)
+                .setParameter("oneStarDelta", oneStarDelta)
+                .setParameter("twoStarDelta", twoStarDelta)
+                .setParameter("threeStarDelta", threeStarDelta)
+                .setParameter("fourStarDelta", fourStarDelta)
+                .setParameter("fiveStarDelta", fiveStarDelta));
+    }
+
+    private NativeQuery<?> update(String eventId, String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COUNTERS_SPACE)
+                .setParameter("eventId", eventId);
+    }
+
+    // Evicted right away and again once the new counters are visible, a read that cached the old row in between is
+    // thrown out by the second eviction
+    private int execute(String eventId, NativeQuery<?> update) {
+        int updated = update.executeUpdate();
+        if (updated > 0) {
+            Cache cache = entityManager.getEntityManagerFactory().getCache();
+            cache.evict(Event.class, eventId);
+            Transactions.afterCommit(() -> cache.evict(Event.class, eventId));
+        }
+        return updated;
+    }
+}
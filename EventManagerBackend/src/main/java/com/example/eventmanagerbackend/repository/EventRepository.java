@@ -2,30 +2,98 @@ package com.example.eventmanagerbackend.repository;
 
 import com.example.eventmanagerbackend.entity.Event;
 import com.example.eventmanagerbackend.enums.EventCategory;
+import com.example.eventmanagerbackend.projection.EventLiveStatus;
+import com.example.eventmanagerbackend.projection.SeatCapacity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, String> {
+public interface EventRepository extends JpaRepository<Event, String>, JpaSpecificationExecutor<Event>, EventCounterRepository {
+    // Listing queries fetch the organizer in the same statement (Event.summary),
+    // so does the detail query (Event.detail), which never loads the bookings.
+    // The city, category and date finders are query-cached in the events.catalog region (ehcache.xml)
+
+    // Find an event with everything EventResponseDto needs
+    @EntityGraph("Event.detail")
+    Optional<Event> findDetailedById(String id);
+
+    // Whether the user organizes the event, guards its roster
+    boolean existsByIdAndOrganizerId(String id, String organizerId);
 
     // Find events by organizer
+    @EntityGraph("Event.summary")
     List<Event> findByOrganizerId(String organizer_id);
-    List<Event> findAllByParticipants_Id(String user_id);
+    // Events the user holds a confirmed booking for
+    @EntityGraph("Event.summary")
+    @Query("SELECT e FROM Booking b JOIN b.event e WHERE b.user.id = :userId " +
+            "AND b.status = com.example.eventmanagerbackend.enums.BookingStatus.CONFIRMED ORDER BY e.eventDate, e.id")
+    List<Event> findBookedByUserId(@Param("userId") String userId);
 
     // Find events in a specific city
+    @EntityGraph("Event.summary")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "events.catalog")})
     List<Event> findByCity(String city);
 
     // Find events by category
+    @EntityGraph("Event.summary")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "events.catalog")})
     List<Event> findByCategory(EventCategory category);
 
     // Find events occurring after a specific date
+    @EntityGraph("Event.summary")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "events.catalog")})
     List<Event> findByEventDateAfter(LocalDate date);
 
-    // Find events by title containing a specific keyword
-    List<Event> findByTitleContainingIgnoreCase(String title);
+    // Multi-criteria search, see EventSpecifications
+    @Override
+    @EntityGraph("Event.summary")
+    Page<Event> findAll(Specification<Event> specification, Pageable pageable);
+
+    // Find a set of events, e.g. one page of search results
+    @EntityGraph("Event.summary")
+    List<Event> findByIdIn(Collection<String> ids);
+
+    // Keyset pagination over (eventDate, id), backed by the idx_events_event_date_id index
+    @EntityGraph("Event.summary")
+    @Query("SELECT e FROM Event e ORDER BY e.eventDate, e.id")
+    List<Event> findFirstPage(Limit limit);
+
+    @EntityGraph("Event.summary")
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.id > :id) " +
+            "ORDER BY e.eventDate, e.id")
+    List<Event> findPageAfter(@Param("eventDate") LocalDate eventDate, @Param("id") String id, Limit limit);
+
+    // Cursor over the whole catalog in the same order, must be consumed inside a transaction
+    @EntityGraph("Event.summary")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Event e ORDER BY e.eventDate, e.id")
+    Stream<Event> streamAllOrdered();
+
+    // Read only the capacity columns, used to seed the seat inventory
+    Optional<SeatCapacity> findSeatCapacityById(String id);
+
+    // Counters pushed to live subscribers, the second one reads every event changed during a tick at once
+    Optional<EventLiveStatus> findLiveStatusById(String id);
 
-    List<Event> findAllByOrderByEventDateAsc();
+    List<EventLiveStatus> findLiveStatusByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,69 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.dto.EventQueryDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.enums.EventCategory;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Composable filters for EventRepository.findAll(Specification, Pageable).
+// Category and city are equality filters so they can use the composite (category|city, event_date) indexes.
+public final class EventSpecifications {
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> matching(EventQueryDto query) {
+        Specification<Event> specification = Specification.where(null);
+        if (query.getCategory() != null) {
+            specification = specification.and(hasCategory(query.getCategory()));
+        }
+        if (query.getCity() != null && !query.getCity().isBlank()) {
+            specification = specification.and(inCity(query.getCity()));
+        }
+        if (query.getDateFrom() != null) {
+            specification = specification.and(onOrAfter(query.getDateFrom()));
+        }
+        if (query.getDateTo() != null) {
+            specification = specification.and(onOrBefore(query.getDateTo()));
+        }
+        if (query.getMinPrice() != null) {
+            specification = specification.and(pricedFrom(query.getMinPrice()));
+        }
+        if (query.getMaxPrice() != null) {
+            specification = specification.and(pricedUpTo(query.getMaxPrice()));
+        }
+        if (query.isHasFreeSeats()) {
+            specification = specification.and(hasFreeSeats());
+        }
+        return specification;
+    }
+
+    private static Specification<Event> hasCategory(EventCategory category) {
+        return (root, cq, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    private static Specification<Event> inCity(String city) {
+        return (root, cq, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    private static Specification<Event> onOrAfter(LocalDate date) {
+        return (root, cq, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), date);
+    }
+
+    private static Specification<Event> onOrBefore(LocalDate date) {
+        return (root, cq, cb) -> cb.lessThanOrEqualTo(root.get("eventDate"), date);
+    }
+
+    private static Specification<Event> pricedFrom(float price) {
+        return (root, cq, cb) -> cb.greaterThanOrEqualTo(root.get("price"), price);
+    }
+
+    private static Specification<Event> pricedUpTo(float price) {
+        return (root, cq, cb) -> cb.lessThanOrEqualTo(root.get("price"), price);
+    }
+
+    private static Specification<Event> hasFreeSeats() {
+        return (root, cq, cb) -> cb.lessThan(root.get("currentParticipants"), root.<Integer>get("maxParticipants"));
+    }
+}
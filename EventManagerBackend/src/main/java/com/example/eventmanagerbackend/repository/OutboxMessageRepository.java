@@ -0,0 +1,87 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.entity.OutboxMessage;
+import com.example.eventmanagerbackend.enums.NotificationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    // Messages are written with INSERT ... SELECT, the recipient and event are never loaded into the session
+
+    // One booking confirmation per user, users that do not exist are skipped
+    @Modifying
+    @Query("INSERT INTO OutboxMessage (type, status, recipient, recipientName, eventId, eventTitle, eventDate, startTime, " +
+            "venue, attempts, createdAt, nextAttemptAt) " +
+            "SELECT com.example.eventmanagerbackend.enums.NotificationType.BOOKING_CONFIRMED, " +
+            "com.example.eventmanagerbackend.enums.OutboxStatus.PENDING, u.email, u.fullName, e.id, e.title, " +
+            "e.eventDate, e.startTime, CONCAT(e.location, ', ', e.city), 0, :now, :now " +
+            "FROM Event e, User u WHERE e.id = :eventId AND u.id IN :userIds")
+    int addBookingConfirmations(@Param("eventId") String eventId, @Param("userIds") Collection<String> userIds,
+                                @Param("now") Instant now);
+
+    // One mail to every confirmed attendee of the event
+    @Modifying
+    @Query("INSERT INTO OutboxMessage (type, status, recipient, recipientName, eventId, eventTitle, eventDate, startTime, " +
+            "venue, attempts, createdAt, nextAttemptAt) " +
+            "SELECT :type, com.example.eventmanagerbackend.enums.OutboxStatus.PENDING, u.email, u.fullName, e.id, e.title, " +
+            "e.eventDate, e.startTime, CONCAT(e.location, ', ', e.city), 0, :now, :now " +
+            "FROM Booking b JOIN b.event e JOIN b.user u WHERE e.id = :eventId " +
+            "AND b.status = com.example.eventmanagerbackend.enums.BookingStatus.CONFIRMED")
+    int addForAttendees(@Param("type") NotificationType type, @Param("eventId") String eventId, @Param("now") Instant now);
+
+    // One mail to the organizer of the event
+    @Modifying
+    @Query("INSERT INTO OutboxMessage (type, status, recipient, recipientName, eventId, eventTitle, eventDate, startTime, " +
+            "venue, detail, attempts, createdAt, nextAttemptAt) " +
+            "SELECT :type, com.example.eventmanagerbackend.enums.OutboxStatus.PENDING, o.email, o.fullName, e.id, e.title, " +
+            "e.eventDate, e.startTime, CONCAT(e.location, ', ', e.city), :detail, 0, :now, :now " +
+            "FROM Event e JOIN e.organizer o WHERE e.id = :eventId")
+    int addForOrganizer(@Param("type") NotificationType type, @Param("eventId") String eventId,
+                        @Param("detail") String detail, @Param("now") Instant now);
+
+    // Due messages, oldest first. Rows claimed by another dispatcher are skipped instead of waited for (SKIP LOCKED).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = com.example.eventmanagerbackend.enums.OutboxStatus.PENDING " +
+            "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("now") Instant now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.example.eventmanagerbackend.enums.OutboxStatus.SENT, " +
+            "m.sentAt = :now, m.lastError = NULL WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.example.eventmanagerbackend.enums.OutboxStatus.FAILED, " +
+            "m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.example.eventmanagerbackend.enums.OutboxStatus.SENT " +
+            "AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
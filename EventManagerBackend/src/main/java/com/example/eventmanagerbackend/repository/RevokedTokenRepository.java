@@ -0,0 +1,33 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    // Revocations that still matter, loaded into TokenRevocationList at startup
+    List<RevokedToken> findAllByExpiresAtAfter(Instant now);
+
+    // Revocations written since the given instant, by any instance
+    List<RevokedToken> findAllByRevokedAtAfter(Instant since);
+
+    // A plain insert, fails on the primary key when any instance already revoked the token.
+    // save() would merge instead and let two instances both believe they revoked it.
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO RevokedToken (tokenId, expiresAt, revokedAt) VALUES (:tokenId, :expiresAt, :revokedAt)")
+    int insert(@Param("tokenId") String tokenId, @Param("expiresAt") Instant expiresAt, @Param("revokedAt") Instant revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
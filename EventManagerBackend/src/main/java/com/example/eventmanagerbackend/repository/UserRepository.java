@@ -2,13 +2,23 @@ package com.example.eventmanagerbackend.repository;
 
 import com.example.eventmanagerbackend.entity.User;
 import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.projection.Attendee;
+import com.example.eventmanagerbackend.projection.UserCredentials;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -16,13 +26,31 @@ public interface UserRepository extends JpaRepository<User, String> {
     // Find a user by their email
     Optional<User> findByEmail(String email);
 
+    // Id, email, password hash and role only, used by login
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
     // Check if a user exists by their email
     boolean existsByEmail(String email);
 
+    // Locks the user's row until the transaction ends, empty when the user does not exist.
+    // Serializes one user's rating changes, their read-then-write would otherwise race.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM User u WHERE u.id = :id")
+    Optional<String> lockById(@Param("id") String id);
+
     // Find users by role (ADMIN or MEMBER)
     List<User> findByRole(Role role);
 
-    // Find all users who have booked a specific event
-    @Query("SELECT u FROM User u JOIN u.bookedEvents e WHERE e.id = :eventId")
-    List<User> findUsersByBookedEvent(@Param("eventId") String eventId);
+    // One page of an event's attendees ordered by id, starting after the given id (the nil uuid for the first page)
+    @Query("SELECT u.id AS id, u.fullName AS fullName, u.email AS email FROM Booking b JOIN b.user u " +
+            "WHERE b.event.id = :eventId AND b.status = com.example.eventmanagerbackend.enums.BookingStatus.CONFIRMED " +
+            "AND u.id > :afterId ORDER BY u.id")
+    List<Attendee> findAttendeesAfter(@Param("eventId") String eventId, @Param("afterId") String afterId, Limit limit);
+
+    // Cursor over all attendees in the same order, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.id AS id, u.fullName AS fullName, u.email AS email FROM Booking b JOIN b.user u " +
+            "WHERE b.event.id = :eventId AND b.status = com.example.eventmanagerbackend.enums.BookingStatus.CONFIRMED " +
+            "ORDER BY u.id")
+    Stream<Attendee> streamAttendees(@Param("eventId") String eventId);
 }
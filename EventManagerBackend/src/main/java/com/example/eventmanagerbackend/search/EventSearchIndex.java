@@ -0,0 +1,169 @@
+package com.example.eventmanagerbackend.search;
+
+import com.example.eventmanagerbackend.entity.Event;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Inverted index over title, description, city and location.
+// Every word is indexed as a whole term, words of the short fields also as edge n-grams
+// so that partially typed keywords match. Scores are summed per keyword and weighted by idf.
+public class EventSearchIndex {
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int MIN_PREFIX = 2;
+    private static final int MAX_PREFIX = 12;
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    private static final float TITLE_WEIGHT = 4.f;
+    private static final float CITY_WEIGHT = 2.f;
+    private static final float LOCATION_WEIGHT = 2.f;
+    private static final float DESCRIPTION_WEIGHT = 1.f;
+
+    // term -> (eventId -> weight)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Float>> postings = new ConcurrentHashMap<>();
+    // eventId -> indexed document, needed to remove its terms again
+    private final ConcurrentHashMap<String, IndexedEvent> documents = new ConcurrentHashMap<>();
+
+    public record Hit(String eventId, float score, LocalDate eventDate) {
+    }
+
+    private record IndexedEvent(LocalDate eventDate, Map<String, Float> terms) {
+    }
+
+    public void index(Event event) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, event.getTitle(), TITLE_WEIGHT, true);
+        addTerms(terms, event.getCity(), CITY_WEIGHT, true);
+        addTerms(terms, event.getLocation(), LOCATION_WEIGHT, true);
+        addTerms(terms, event.getDescription(), DESCRIPTION_WEIGHT, false);
+
+        // Changes of one event are applied one at a time under its entry, so its postings always match its document
+        documents.compute(event.getId(), (eventId, previous) -> {
+            if (previous != null) {
+                removeTerms(eventId, previous);
+            }
+            terms.forEach((term, weight) -> postings.compute(term, (key, posting) -> {
+                if (posting == null) {
+                    posting = new ConcurrentHashMap<>();
+                }
+                posting.put(eventId, weight);
+                return posting;
+            }));
+            return new IndexedEvent(event.getEventDate(), terms);
+        });
+    }
+
+    public void remove(String eventId) {
+        documents.computeIfPresent(eventId, (key, previous) -> {
+            removeTerms(key, previous);
+            return null;
+        });
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Events matching every keyword, best match first, ties broken by date then id
+    public List<Hit> search(String query) {
+        List<String> keywords = tokenize(query);
+        if (keywords.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Float> scores = null;
+        for (String keyword : keywords) {
+            Map<String, Float> keywordScores = score(keyword);
+            if (scores == null) {
+                scores = keywordScores;
+            } else {
+                // Keep only events that also match this keyword
+                Map<String, Float> matched = new HashMap<>();
+                Map<String, Float> previous = scores;
+                keywordScores.forEach((eventId, score) -> {
+                    Float previousScore = previous.get(eventId);
+                    if (previousScore != null) {
+                        matched.put(eventId, previousScore + score);
+                    }
+                });
+                scores = matched;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((eventId, score) -> {
+            IndexedEvent document = documents.get(eventId);
+            if (document != null) {
+                hits.add(new Hit(eventId, score, document.eventDate()));
+            }
+        });
+        hits.sort(Comparator.comparing(Hit::score).reversed()
+                .thenComparing(Hit::eventDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Hit::eventId));
+        return hits;
+    }
+
+    private Map<String, Float> score(String keyword) {
+        Map<String, Float> scores = new HashMap<>();
+        accumulate(scores, "w:" + keyword, 1.f);
+        accumulate(scores, "p:" + keyword.substring(0, Math.min(keyword.length(), MAX_PREFIX)), PREFIX_WEIGHT);
+        return scores;
+    }
+
+    // Adds the best weight per event for this term, scaled by how rare the term is
+    private void accumulate(Map<String, Float> scores, String term, float boost) {
+        Map<String, Float> posting = postings.get(term);
+        if (posting == null || posting.isEmpty()) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) Math.max(documents.size(), 1) / posting.size());
+        posting.forEach((eventId, weight) -> scores.merge(eventId, weight * boost * idf, Math::max));
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float weight, boolean withPrefixes) {
+        for (String token : tokenize(text)) {
+            terms.merge("w:" + token, weight, Float::sum);
+            if (withPrefixes) {
+                for (int length = MIN_PREFIX; length <= Math.min(token.length(), MAX_PREFIX); length++) {
+                    // Whole words shorter than MAX_PREFIX also count as their own prefix
+                    terms.merge("p:" + token.substring(0, length), weight, Math::max);
+                }
+            }
+        }
+    }
+
+    // A posting is dropped once empty, inserts go through compute as well so they never land in a dropped one
+    private void removeTerms(String eventId, IndexedEvent document) {
+        document.terms().keySet().forEach(term -> postings.computeIfPresent(term, (key, posting) -> {
+            posting.remove(eventId);
+            return posting.isEmpty() ? null : posting;
+        }));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
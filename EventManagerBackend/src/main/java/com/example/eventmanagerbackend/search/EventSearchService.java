@@ -0,0 +1,137 @@
+package com.example.eventmanagerbackend.search;
+
+import com.example.eventmanagerbackend.InvalidRequestException;
+import com.example.eventmanagerbackend.Transactions;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
+import com.example.eventmanagerbackend.dto.PageDto;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.mapper.EventMapper;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class EventSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int REBUILD_CLEAR_INTERVAL = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventMapper eventMapper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object swapLock = new Object();
+    // Replaced as a whole by rebuild(), searches never see a half-built index
+    private volatile EventSearchIndex index = new EventSearchIndex();
+    // Changes committed while a rebuild reads the catalog, replayed onto the new index before it goes live.
+    // Null when no rebuild runs, guarded by swapLock.
+    private List<Consumer<EventSearchIndex>> changedDuringRebuild;
+
+    // Load the whole catalog into a new index once the application is up, the current one keeps serving meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (swapLock) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        EventSearchIndex rebuilt = new EventSearchIndex();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Event> events = eventRepository.streamAllOrdered()) {
+                    int indexed = 0;
+                    for (Event event : (Iterable<Event>) events::iterator) {
+                        rebuilt.index(event);
+                        if (++indexed % REBUILD_CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+            });
+            synchronized (swapLock) {
+                // Committed after the catalog was read or while it was, either way newer than what the stream saw
+                changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (swapLock) {
+                changedDuringRebuild = null;
+            }
+        }
+        logger.info("Indexed {} events for search in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Both apply once the caller's transaction commits, a rollback leaves the index as it was
+    public void index(Event event) {
+        Transactions.afterCommit(() -> apply(target -> target.index(event)));
+    }
+
+    public void remove(String eventId) {
+        Transactions.afterCommit(() -> apply(target -> target.remove(eventId)));
+    }
+
+    // Ranked search, only the events of the requested page are read from the database
+    public PageDto<EventSummaryDto> search(String keyword, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page must be positive and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<EventSearchIndex.Hit> hits = index.search(keyword);
+        List<String> pageIds = hits.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(EventSearchIndex.Hit::eventId)
+                .toList();
+
+        List<EventSummaryDto> items = List.of();
+        if (!pageIds.isEmpty()) {
+            Map<String, Event> events = eventRepository.findByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            // Keep the ranking order, skip events deleted since they were ranked
+            items = pageIds.stream()
+                    .map(events::get)
+                    .filter(event -> event != null)
+                    .map(eventMapper::toSummaryDto)
+                    .toList();
+        }
+        return PageDto.<EventSummaryDto>builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .totalElements(hits.size())
+                .build();
+    }
+
+    // A change that races with the swap lands on the old index and is replayed onto the new one
+    private void apply(Consumer<EventSearchIndex> change) {
+        EventSearchIndex target;
+        synchronized (swapLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+            target = index;
+        }
+        change.accept(target);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.eventmanagerbackend.security;
+
+import com.example.eventmanagerbackend.dto.PasswordHashingStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt with a cost picked for this machine: the highest cost whose hash time stays within the target.
+// Stored hashes with any other cost are reported for re-encoding, so they follow the cost up and down on the next login.
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int cost;
+    private final boolean calibrated;
+    private final double hashMillis;
+    private final BCryptPasswordEncoder delegate;
+    private final LongAdder rehashed = new LongAdder();
+
+    public AdaptiveBCryptPasswordEncoder(PasswordHashingProperties properties) {
+        int minCost = properties.getMinCost();
+        double minCostMillis = measure(minCost);
+        if (properties.getCost() != null) {
+            this.cost = properties.getCost();
+            this.calibrated = false;
+        } else {
+            // Every cost step doubles the work
+            double budget = properties.getTargetHashTime().toNanos() / 1_000_000.0;
+            int selected = minCost;
+            while (selected < properties.getMaxCost() && minCostMillis * (1L << (selected + 1 - minCost)) <= budget) {
+                selected++;
+            }
+            this.cost = selected;
+            this.calibrated = true;
+        }
+        this.hashMillis = cost == minCost ? minCostMillis : measure(cost);
+        this.delegate = new BCryptPasswordEncoder(cost);
+
+        logger.info("BCrypt cost {} ({}): {} ms per hash, about {} logins/sec per core",
+                cost, calibrated ? "calibrated" : "configured",
+                String.format("%.1f", hashMillis), String.format("%.1f", 1000 / hashMillis));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        boolean stale = matcher.find() && Integer.parseInt(matcher.group(1)) != cost;
+        if (stale) {
+            rehashed.increment();
+        }
+        return stale;
+    }
+
+    public PasswordHashingStatsDto getStats() {
+        return PasswordHashingStatsDto.builder()
+                .cost(cost)
+                .calibrated(calibrated)
+                .hashMillis(hashMillis)
+                .loginsPerSecondPerCore(1000 / hashMillis)
+                .rehashed(rehashed.sum())
+                .build();
+    }
+
+    // Best of a few rounds after a warm-up, in milliseconds
+    private static double measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String hash = encoder.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.matches("calibration", hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -1,11 +1,10 @@
 package com.example.eventmanagerbackend.security;
 
-import com.example.eventmanagerbackend.entity.User;
-import com.example.eventmanagerbackend.enums.Role;
 import com.example.eventmanagerbackend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -14,15 +13,13 @@ import java.util.List;
 
 @Component
 @RequiredArgsConstructor
-public class CustomUserDetailService implements UserDetailsService {
+public class CustomUserDetailService implements UserDetailsService, UserDetailsPasswordService {
     private final UserService userService;
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var user = userService.findByEmail(email).orElseThrow();
-        boolean userExists = userService.existsByEmail(email);
-        if (!userExists) {
-            throw new UsernameNotFoundException("User with email " + email + " does not exist.");
-        }
+        // One query for the four columns a login needs
+        var user = userService.findCredentialsByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User with email " + email + " does not exist."));
 
         return UserPrincipal.builder()
                 .userId(user.getId())
@@ -32,4 +29,17 @@ public class CustomUserDetailService implements UserDetailsService {
                 .build();
     }
 
+    // Called after a successful login when the stored hash was made with a different BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var principal = (UserPrincipal) user;
+        userService.updatePasswordHash(principal.getUserId(), newPassword);
+        return UserPrincipal.builder()
+                .userId(principal.getUserId())
+                .email(principal.getEmail())
+                .password(newPassword)
+                .authorities(principal.getAuthorities())
+                .build();
+    }
+
 }
@@ -1,18 +1,32 @@
 package com.example.eventmanagerbackend.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class JwtDecoder {
-    private final JwtProperties properties;
+    // Verifiers are thread safe, build them once instead of on every request
+    private final JWTVerifier verifier;
+    private final JWTVerifier refreshVerifier;
+
+    public JwtDecoder(JwtProperties properties) {
+        Algorithm algorithm = Algorithm.HMAC256(properties.getSecretKey());
+        this.verifier = JWT.require(algorithm)
+                .withClaim(JwtIssuer.TOKEN_TYPE_CLAIM, JwtIssuer.ACCESS_TOKEN)
+                .build();
+        this.refreshVerifier = JWT.require(algorithm)
+                .withClaim(JwtIssuer.TOKEN_TYPE_CLAIM, JwtIssuer.REFRESH_TOKEN)
+                .build();
+    }
+
     public DecodedJWT decode(String token) {
-        return JWT.require(Algorithm.HMAC256(properties.getSecretKey()))
-                .build()
-                .verify(token);
+        return verifier.verify(token);
+    }
+
+    public DecodedJWT decodeRefresh(String token) {
+        return refreshVerifier.verify(token);
     }
 }
@@ -2,24 +2,45 @@ package com.example.eventmanagerbackend.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
-import lombok.RequiredArgsConstructor;
+import com.example.eventmanagerbackend.entity.Ids;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class JwtIssuer {
+    // t short for token type, an access token is never accepted as a refresh token and vice versa
+    static final String TOKEN_TYPE_CLAIM = "t";
+    static final String ACCESS_TOKEN = "access";
+    static final String REFRESH_TOKEN = "refresh";
+
+    private final Algorithm algorithm;
     private final JwtProperties properties;
+
+    public JwtIssuer(JwtProperties properties) {
+        this.algorithm = Algorithm.HMAC256(properties.getSecretKey());
+        this.properties = properties;
+    }
+
     public String issue(String userId, String email, List<String> roles){
         return JWT.create()
+                .withJWTId(Ids.newId())
                 .withSubject(String.valueOf(userId))
-                .withExpiresAt(Instant.now().plus(Duration.of(1, ChronoUnit.DAYS)))
+                .withExpiresAt(Instant.now().plus(properties.getTokenDuration()))
+                .withClaim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN)
                 .withClaim("e", email)
                 .withClaim("a", roles) // a short for authorities
-                .sign(Algorithm.HMAC256(properties.getSecretKey()));
+                .sign(algorithm);
+    }
+
+    // Carries no authorities, those are read from the user again on every refresh
+    public String issueRefresh(String userId){
+        return JWT.create()
+                .withJWTId(Ids.newId())
+                .withSubject(String.valueOf(userId))
+                .withExpiresAt(Instant.now().plus(properties.getRefreshTokenDuration()))
+                .withClaim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN)
+                .sign(algorithm);
     }
 }
@@ -0,0 +1,78 @@
+package com.example.eventmanagerbackend.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.eventmanagerbackend.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Bearer token -> principal, so repeated requests with the same token skip HMAC verification and claim parsing.
+// An entry never outlives the token it was verified from.
+@Component
+public class JwtPrincipalCache {
+    private final JwtDecoder jwtDecoder;
+    private final JwtToPrincipalConverter jwtToPrincipalConverter;
+    private final TokenRevocationList tokenRevocationList;
+    private final Cache<String, CachedPrincipal> cache;
+    private final Timer decodeTimer;
+
+    private record CachedPrincipal(UserPrincipal principal, Instant expiresAt) {
+    }
+
+    public JwtPrincipalCache(JwtDecoder jwtDecoder, JwtToPrincipalConverter jwtToPrincipalConverter,
+                             TokenRevocationList tokenRevocationList, JwtProperties properties, MeterRegistry meterRegistry) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtToPrincipalConverter = jwtToPrincipalConverter;
+        this.tokenRevocationList = tokenRevocationList;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getPrincipalCacheSize())
+                .expireAfter(new Expiry<String, CachedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, CachedPrincipal value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, CachedPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.principals");
+        this.decodeTimer = meterRegistry.timer("security.jwt.decode");
+    }
+
+    // Throws the verifier's exception for invalid tokens, those are never cached.
+    // Revocation is checked on every call, a token can be revoked after its principal was cached.
+    public UserPrincipal resolve(String token) {
+        UserPrincipal principal = cache.get(token, this::verify).principal();
+        if (tokenRevocationList.isRevoked(principal.getTokenId())) {
+            cache.invalidate(token);
+            throw new JWTVerificationException("The token has been revoked.");
+        }
+        return principal;
+    }
+
+    public CacheStatsDto getStats() {
+        return CacheStatsDto.of(cache.estimatedSize(), cache.stats());
+    }
+
+    private CachedPrincipal verify(String token) {
+        DecodedJWT jwt = decodeTimer.record(() -> jwtDecoder.decode(token));
+        return new CachedPrincipal(jwtToPrincipalConverter.convert(jwt), jwt.getExpiresAtAsInstant());
+    }
+}
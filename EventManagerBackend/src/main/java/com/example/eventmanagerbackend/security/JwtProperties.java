@@ -13,5 +13,14 @@ import java.time.Duration;
 @ConfigurationProperties("security.jwt")
 public class JwtProperties {
     private String secretKey;
+    // Lifetime of access tokens, keep it short, clients renew them through /auth/refresh
     private Duration tokenDuration;
+    private Duration refreshTokenDuration = Duration.ofDays(14);
+    // Verified tokens kept in JwtPrincipalCache
+    private int principalCacheSize = 10_000;
+    // Sizing of the bloom filter in TokenRevocationList
+    private int revocationFilterCapacity = 100_000;
+    private double revocationFilterFalsePositiveRate = 0.01;
+    // How long a logout on another instance may take to reach this one
+    private Duration revocationSyncInterval = Duration.ofSeconds(5);
 }
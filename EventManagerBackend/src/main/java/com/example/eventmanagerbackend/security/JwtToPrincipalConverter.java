@@ -11,6 +11,7 @@ public class JwtToPrincipalConverter {
     public UserPrincipal convert(DecodedJWT jwt) {
         return UserPrincipal.builder()
                 .userId( String.valueOf(jwt.getSubject()) )
+                .tokenId( jwt.getId() )
                 .email( jwt.getClaim("e").asString() )
                 .authorities(extractAuthoritiesFromClaim(jwt))
                 .build();
@@ -18,6 +19,8 @@ public class JwtToPrincipalConverter {
     private List<SimpleGrantedAuthority> extractAuthoritiesFromClaim(DecodedJWT jwt) {
         var claim = jwt.getClaim("a");
         if (claim.isNull() || claim.isMissing())return List.of();
-        return claim.asList(SimpleGrantedAuthority.class);
+        return claim.asList(String.class).stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
     }
 }
@@ -0,0 +1,21 @@
+package com.example.eventmanagerbackend.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("security.password")
+public class PasswordHashingProperties {
+    // Fixed BCrypt cost, when unset the cost is calibrated at startup to stay within targetHashTime
+    private Integer cost;
+    // Time one hash may take on this machine
+    private Duration targetHashTime = Duration.ofMillis(250);
+    private int minCost = 10;
+    private int maxCost = 16;
+}
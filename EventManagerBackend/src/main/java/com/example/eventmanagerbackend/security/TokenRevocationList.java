@@ -0,0 +1,110 @@
+package com.example.eventmanagerbackend.security;
+
+import com.example.eventmanagerbackend.entity.RevokedToken;
+import com.example.eventmanagerbackend.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked token ids, checked on every authenticated request without touching the database.
+// The bloom filter answers "not revoked" for almost every token, the exact set settles its positives.
+// Revocations are persisted first and the structure is rebuilt from revoked_tokens at startup.
+// Every instance keeps its own copy and polls revoked_tokens for the others' revocations, so a logout
+// takes effect everywhere within security.jwt.revocation-sync-interval.
+@Component
+public class TokenRevocationList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    // Each poll reaches back this far, covers revocations that committed late or were stamped by a skewed clock
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtProperties properties;
+    // token id -> expiry of the revoked token
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile Instant syncedAt;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, JwtProperties properties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void load() {
+        Instant now = Instant.now();
+        syncedAt = now;
+        revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken token : revokedTokenRepository.findAllByExpiresAtAfter(now)) {
+            revoked.put(token.getTokenId(), token.getExpiresAt());
+        }
+        rebuildFilter();
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    // Returns false when the token was already revoked or has expired, of two concurrent calls for the same
+    // token exactly one returns true, also when they run on different instances
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now()) || revoked.putIfAbsent(tokenId, expiresAt) != null) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(tokenId, expiresAt, Instant.now());
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance revoked it first, it stays revoked here as well
+            add(tokenId);
+            return false;
+        } catch (RuntimeException ex) {
+            revoked.remove(tokenId);
+            throw ex;
+        }
+        add(tokenId);
+        return true;
+    }
+
+    // Picks up the tokens other instances revoked since the last poll
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-sync-interval}")
+    public void sync() {
+        Instant now = Instant.now();
+        int added = 0;
+        for (RevokedToken token : revokedTokenRepository.findAllByRevokedAtAfter(syncedAt.minus(SYNC_OVERLAP))) {
+            if (token.getExpiresAt().isAfter(now) && revoked.putIfAbsent(token.getTokenId(), token.getExpiresAt()) == null) {
+                add(token.getTokenId());
+                added++;
+            }
+        }
+        syncedAt = now;
+        if (added > 0) {
+            logger.debug("Synced {} tokens revoked by other instances", added);
+        }
+    }
+
+    // Serialized with rebuildFilter so no id lands in a filter that is about to be replaced
+    private synchronized void add(String tokenId) {
+        filter.add(tokenId);
+
+        // Past its capacity the filter's false positive rate climbs, drop expired ids and start a fresh one
+        if (revoked.size() > properties.getRevocationFilterCapacity()) {
+            Instant now = Instant.now();
+            revoked.values().removeIf(expiry -> !expiry.isAfter(now));
+            rebuildFilter();
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(properties.getRevocationFilterCapacity(), revoked.size() * 2),
+                properties.getRevocationFilterFalsePositiveRate());
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -12,6 +12,9 @@ import java.util.Collection;
 public class UserPrincipal implements UserDetails {
     private final String userId;
     private final String email;
+    // jti of the access token this principal was read from, null for password logins
+    @JsonIgnore
+    private final String tokenId;
     @JsonIgnore
     private final String password;
 
@@ -1,17 +1,19 @@
 package com.example.eventmanagerbackend.security;
 
 
+import com.example.eventmanagerbackend.admission.WaitingRoomService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -27,6 +29,7 @@ import java.util.List;
 public class WebSecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailService customUserDetailService;
+    private final PasswordHashingProperties passwordHashingProperties;
 
     @Bean
     public SecurityFilterChain applicationSecurity(HttpSecurity http) throws Exception{
@@ -37,8 +40,29 @@ public class WebSecurityConfig {
             .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .securityMatcher("/**")
             .authorizeHttpRequests(registry -> registry
+                    // The request was already authorized before it went async (streamed responses)
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/").permitAll()
-                    .requestMatchers("/auth/login").permitAll()
+                    .requestMatchers("/auth/login", "/auth/refresh", "/auth/logout").permitAll()
+                    // Probes do not carry tokens
+                    .requestMatchers("/actuator/health").permitAll()
+                    // Seat, cache, payment and latency metrics are operational data like /stats
+                    .requestMatchers("/actuator/prometheus").hasAuthority("ADMIN")
+                    // EventSource cannot send the token, the live stream only carries public counters
+                    .requestMatchers(HttpMethod.GET, "/events/*/live").permitAll()
+                    // Rosters contain attendee emails, enforced here since method security is not enabled
+                    .requestMatchers("/users/booked-event/**").hasAuthority("ADMIN")
+                    // Creates events in bulk, @PreAuthorize on the controller is not enforced either
+                    .requestMatchers(HttpMethod.POST, "/events/import").hasAuthority("ADMIN")
+                    // Deleting an event mails a cancellation to every attendee, events are organized by admins
+                    .requestMatchers(HttpMethod.DELETE, "/events/*").hasAuthority("ADMIN")
+                    // Opening and closing a sale's waiting room, joining and polling stay open to members
+                    .requestMatchers(HttpMethod.PUT, "/events/*/queue").hasAuthority("ADMIN")
+                    .requestMatchers(HttpMethod.DELETE, "/events/*/queue").hasAuthority("ADMIN")
+                    // Group bookings are for members, EventService checks the member is part of the group
+                    .requestMatchers(HttpMethod.POST, "/events/*/book-group").hasAuthority("MEMBER")
+                    // Operational counters, @PreAuthorize on StatsController is not enforced
+                    .requestMatchers("/stats/**").hasAuthority("ADMIN")
                     .anyRequest().authenticated()
             ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
@@ -56,8 +80,11 @@ public class WebSecurityConfig {
                 "Access-Control-Allow-Headers",
                 "Origin",
                 "Accept",
-                "X-Requested-With"
+                "X-Requested-With",
+                WaitingRoomService.TICKET_HEADER
         )); // Allow all headers
+        // Read by the SPA to pace its waiting room polls
+        configuration.setExposedHeaders(List.of(HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(true);
 
 
@@ -68,8 +95,8 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public AdaptiveBCryptPasswordEncoder passwordEncoder(){
+        return new AdaptiveBCryptPasswordEncoder(passwordHashingProperties);
     }
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception{
@@ -77,6 +104,7 @@ public class WebSecurityConfig {
         builder
                 .userDetailsService(customUserDetailService)
                 .passwordEncoder(passwordEncoder());
+        // customUserDetailService also re-encodes hashes whose cost differs from the current one
         return builder.build();
     }
 }
@@ -1,7 +1,12 @@
 package com.example.eventmanagerbackend.service;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.eventmanagerbackend.entity.User;
 import com.example.eventmanagerbackend.model.LoginResponse;
+import com.example.eventmanagerbackend.security.JwtDecoder;
 import com.example.eventmanagerbackend.security.JwtIssuer;
+import com.example.eventmanagerbackend.security.TokenRevocationList;
 import com.example.eventmanagerbackend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,12 +14,18 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final JwtIssuer jwtIssuer;
+    private final JwtDecoder jwtDecoder;
+    private final TokenRevocationList tokenRevocationList;
     private final AuthenticationManager authenticationManager;
+    private final UserService userService;
 
     public LoginResponse attemptLogin(String email, String password){
         var authentication = authenticationManager.authenticate(
@@ -30,7 +41,43 @@ public class AuthService {
         var token = jwtIssuer.issue(principal.getUserId(), principal.getEmail(), roles);
         return LoginResponse.builder()
                 .accessToken(token)
+                .refreshToken(jwtIssuer.issueRefresh(principal.getUserId()))
+                .build();
+    }
+
+    // Refresh tokens are single use, each refresh revokes the presented token and returns a new pair.
+    // Revoking is the check: when the same token is presented twice at once only one of the calls gets a new pair.
+    public LoginResponse refresh(String refreshToken) {
+        DecodedJWT jwt = jwtDecoder.decodeRefresh(refreshToken);
+        User user = userService.findById(jwt.getSubject())
+                .orElseThrow(() -> new JWTVerificationException("The user no longer exists."));
+        if (!tokenRevocationList.revoke(jwt.getId(), jwt.getExpiresAtAsInstant())) {
+            throw new JWTVerificationException("The refresh token has been revoked.");
+        }
+
+        return LoginResponse.builder()
+                .accessToken(jwtIssuer.issue(user.getId(), user.getEmail(), List.of(user.getRole().name())))
+                .refreshToken(jwtIssuer.issueRefresh(user.getId()))
                 .build();
     }
 
+    // Revokes the given tokens until they would have expired. Holding a token is enough to revoke it,
+    // so logging out still works once the access token expired and only the refresh token is left.
+    public void logout(String accessToken, String refreshToken) {
+        if (StringUtils.hasText(refreshToken)) {
+            DecodedJWT jwt = jwtDecoder.decodeRefresh(refreshToken);
+            tokenRevocationList.revoke(jwt.getId(), jwt.getExpiresAtAsInstant());
+        }
+        if (StringUtils.hasText(accessToken)) {
+            DecodedJWT jwt;
+            try {
+                jwt = jwtDecoder.decode(accessToken);
+            } catch (JWTVerificationException ex) {
+                // Expired or forged, it cannot be used anyway
+                return;
+            }
+            tokenRevocationList.revoke(jwt.getId(), jwt.getExpiresAtAsInstant());
+        }
+    }
+
 }
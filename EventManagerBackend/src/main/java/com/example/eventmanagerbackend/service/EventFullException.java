@@ -0,0 +1,7 @@
+package com.example.eventmanagerbackend.service;
+
+public class EventFullException extends RuntimeException {
+    public EventFullException(String message) {
+        super(message);
+    }
+}
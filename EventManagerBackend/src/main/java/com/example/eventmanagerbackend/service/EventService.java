@@ -1,32 +1,80 @@
 package com.example.eventmanagerbackend.service;
 
+import com.example.eventmanagerbackend.InvalidRequestException;
+import com.example.eventmanagerbackend.admission.WaitingRoomService;
+import com.example.eventmanagerbackend.bulk.EventCsv;
+import com.example.eventmanagerbackend.cache.EventCache;
+import com.example.eventmanagerbackend.dto.CursorPageDto;
 import com.example.eventmanagerbackend.dto.EventCreateDto;
+import com.example.eventmanagerbackend.dto.EventQueryDto;
 import com.example.eventmanagerbackend.dto.EventResponseDto;
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
 import com.example.eventmanagerbackend.dto.EventUpdateDto;
+import com.example.eventmanagerbackend.dto.GroupBookingDto;
+import com.example.eventmanagerbackend.dto.PageDto;
 import com.example.eventmanagerbackend.entity.Event;
 import com.example.eventmanagerbackend.entity.EventRating;
 import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.BookingStatus;
 import com.example.eventmanagerbackend.enums.EventCategory;
+import com.example.eventmanagerbackend.live.LiveUpdateService;
+import com.example.eventmanagerbackend.mapper.EventMapper;
+import com.example.eventmanagerbackend.notification.MailOutbox;
+import com.example.eventmanagerbackend.repository.BookingRepository;
 import com.example.eventmanagerbackend.repository.EventRatingRepository;
 import com.example.eventmanagerbackend.repository.EventRepository;
+import com.example.eventmanagerbackend.repository.EventSpecifications;
 import com.example.eventmanagerbackend.repository.UserRepository;
+import com.example.eventmanagerbackend.search.EventSearchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_GROUP_SIZE = 50;
+    // Clear the persistence context every few rows so streaming runs in constant memory
+    private static final int STREAM_CLEAR_INTERVAL = 100;
+    // SQLSTATE of a row referencing a missing parent, PostgreSQL and H2 disagree on the code
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     @Autowired
     private EventRepository eventRepository;
     @Autowired
@@ -34,29 +82,62 @@ public class EventService {
     @Autowired
     private EventRatingRepository eventRatingRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EventMapper eventMapper;
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    @Autowired
+    private EventSearchService eventSearchService;
+    @Autowired
+    private EventCache eventCache;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EventCsv eventCsv;
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+    @Autowired
+    private MailOutbox mailOutbox;
+    @Autowired
+    private LiveUpdateService liveUpdateService;
 
     public EventResponseDto createEvent(EventCreateDto eventDto, String organizerId) {
         // Find organizer
         User organizer = userRepository.findById(organizerId)
                 .orElseThrow(() -> new EntityNotFoundException("Organizer not found"));
         // Convert DTO to Entity
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = eventMapper.toEntity(eventDto);
         event.setOrganizer(organizer);
-        event.setParticipants(new ArrayList<>());
+        event.setBookings(new ArrayList<>());
         event.setCurrentParticipants(0);
         event.setAverageRating(0.f);
         event.setRatings(new ArrayList<>());
         // Save event
         event = eventRepository.save(event);
+        eventSearchService.index(event);
+        eventCache.eventCreated(event.getCategory(), event.getCity());
 
         // Convert to response DTO
-        return modelMapper.map(event, EventResponseDto.class);
+        return eventMapper.toResponseDto(event);
     }
 
+    @Transactional
     public EventResponseDto updateEvent(EventUpdateDto eventDto) {
         Event existingEvent = eventRepository.findById(eventDto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        // Attendees are only mailed about changes to when and where the event takes place
+        boolean rescheduled = !Objects.equals(existingEvent.getEventDate(), eventDto.getEventDate())
+                || !Objects.equals(existingEvent.getStartTime(), eventDto.getStartTime())
+                || !Objects.equals(existingEvent.getEndTime(), eventDto.getEndTime())
+                || !Objects.equals(existingEvent.getCity(), eventDto.getCity())
+                || !Objects.equals(existingEvent.getLocation(), eventDto.getLocation());
 
         // Map the provided DTO to the existing event
         existingEvent.setTitle(eventDto.getTitle());
@@ -71,124 +152,338 @@ public class EventService {
 
         // Save the updated event
         Event updatedEvent = eventRepository.save(existingEvent);
+        if (rescheduled) {
+            mailOutbox.eventUpdated(updatedEvent.getId());
+        }
+        seatInventoryService.evict(updatedEvent.getId());
+        eventSearchService.index(updatedEvent);
+        eventCache.eventChanged(updatedEvent.getId(), updatedEvent.getCategory(), updatedEvent.getCity());
+        liveUpdateService.eventChanged(updatedEvent.getId());
 
         // Return the updated event as a response DTO
-        return modelMapper.map(updatedEvent, EventResponseDto.class);
+        return eventMapper.toResponseDto(updatedEvent);
     }
 
-    public List<EventResponseDto> getAllEvents() {
-        return eventRepository.findAllByOrderByEventDateAsc()
-                .stream()
-                .map(event -> modelMapper.map(event, EventResponseDto.class))
-                .collect(Collectors.toList());
+    // One page of events ordered by (eventDate, id), starting after the given cursor
+    public CursorPageDto<EventSummaryDto> getEventsPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<Event> events;
+        if (cursor == null || cursor.isEmpty()) {
+            events = eventRepository.findFirstPage(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            events = eventRepository.findPageAfter(LocalDate.parse(position[0]), position[1], limit);
+        }
+
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            nextCursor = encodeCursor(events.get(size - 1));
+        }
+        return CursorPageDto.<EventSummaryDto>builder()
+                .items(events.stream()
+                        .map(eventMapper::toSummaryDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Events matching every given filter, ordered by date
+    public PageDto<EventSummaryDto> queryEvents(EventQueryDto query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page must be positive and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (query.getDateFrom() != null && query.getDateTo() != null && query.getDateFrom().isAfter(query.getDateTo())) {
+            throw new InvalidRequestException("dateFrom must not be after dateTo");
+        }
+        if (query.getMinPrice() != null && query.getMaxPrice() != null && query.getMinPrice() > query.getMaxPrice()) {
+            throw new InvalidRequestException("minPrice must not be above maxPrice");
+        }
+
+        Page<Event> events = eventRepository.findAll(EventSpecifications.matching(query),
+                PageRequest.of(page, size, Sort.by("eventDate", "id")));
+        return PageDto.<EventSummaryDto>builder()
+                .items(events.map(eventMapper::toSummaryDto).getContent())
+                .page(page)
+                .size(size)
+                .totalElements(events.getTotalElements())
+                .build();
+    }
+
+    // Write every event as one JSON line while it is read from the database
+    public void streamAllEvents(OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamAllOrdered();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                for (Event event : (Iterable<Event>) events::iterator) {
+                    objectMapper.writeValue(generator, eventMapper.toSummaryDto(event));
+                    generator.writeRaw('\n');
+                    if (++written % STREAM_CLEAR_INTERVAL == 0) {
+                        generator.flush();
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // Same as streamAllEvents, as CSV rows with a header line
+    public void streamAllEventsCsv(OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Event> events = eventRepository.streamAllOrdered();
+                 SequenceWriter writer = eventCsv.writer(out)) {
+                int written = 0;
+                for (Event event : (Iterable<Event>) events::iterator) {
+                    writer.write(eventCsv.toRow(event));
+                    if (++written % STREAM_CLEAR_INTERVAL == 0) {
+                        writer.flush();
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
     }
 
     public EventResponseDto getById(String eventId) {
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        // Convert to response DTO
-        return modelMapper.map(event, EventResponseDto.class);
+        return eventCache.getDetail(eventId, () -> {
+            Event event = eventRepository.findDetailedById(eventId).orElseThrow(() -> new EntityNotFoundException("Event not found"));
+            // Convert to response DTO
+            return eventMapper.toResponseDto(event);
+        });
     }
 
+    @Transactional
     public void deleteById(String eventId) {
+        mailOutbox.eventCancelled(eventId);
+        bookingRepository.deleteByEventId(eventId);
         eventRepository.deleteById(eventId);
+        seatInventoryService.evict(eventId);
+        waitingRoomService.close(eventId);
+        eventSearchService.remove(eventId);
+        eventCache.eventChanged(eventId);
+        liveUpdateService.eventDeleted(eventId);
+    }
+
+    @Transactional
+    public void bookEvent(String eventId, String userId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // Atomically takes a seat, the event row is never loaded
+            if (!seatInventoryService.tryReserve(eventId, 1)) {
+                outcome = "full";
+                throw new EventFullException("Event is full");
+            }
+            // One row, the unique (event_id, user_id) constraint rejects a second booking and the user_id foreign key
+            // a deleted user, either rolls the seat back
+            try {
+                bookingRepository.insertConfirmed(eventId, userId, Instant.now());
+            } catch (DataIntegrityViolationException ex) {
+                throw bookingRejected(ex);
+            }
+            // Queued in this transaction, sent after it commits
+            mailOutbox.bookingConfirmed(eventId, List.of(userId));
+            eventCache.eventChanged(eventId);
+            liveUpdateService.eventChanged(eventId);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("events.booking", "outcome", outcome));
+        }
     }
 
+    // Seats for every attendee or for none, the seats are taken back if any step fails.
+    // The booker has to be one of the attendees and is recorded on every booking of the group.
     @Transactional
-    public void bookEvent(String eventId, String organizerId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    public void bookGroup(String eventId, String bookerId, GroupBookingDto groupBooking) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Set<String> attendeeIds = new LinkedHashSet<>(groupBooking.getAttendeeIds() == null ? List.of() : groupBooking.getAttendeeIds());
+            if (attendeeIds.isEmpty() || attendeeIds.size() > MAX_GROUP_SIZE) {
+                throw new InvalidRequestException("A group booking needs between 1 and " + MAX_GROUP_SIZE + " distinct attendees");
+            }
+            if (!attendeeIds.contains(bookerId)) {
+                throw new AccessDeniedException("Members can only book groups they are part of");
+            }
+            List<String> alreadyBooked = bookingRepository.findBookedUserIds(eventId, attendeeIds);
+            if (!alreadyBooked.isEmpty()) {
+                throw new InvalidRequestException("Already booked: " + String.join(", ", alreadyBooked));
+            }
 
-        User user = userRepository.findById(organizerId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            if (!seatInventoryService.tryReserve(eventId, attendeeIds.size())) {
+                outcome = "full";
+                throw new EventFullException("Not enough seats left for " + attendeeIds.size() + " attendees");
+            }
+            // Resolves and inserts the attendees in one statement, rolling back gives the seats back.
+            // An attendee booked by a concurrent request since the check above trips the unique constraint.
+            int inserted;
+            try {
+                inserted = bookingRepository.insertConfirmedGroup(eventId, attendeeIds, bookerId, Instant.now());
+            } catch (DataIntegrityViolationException ex) {
+                throw bookingRejected(ex);
+            }
+            if (inserted != attendeeIds.size()) {
+                throw new InvalidRequestException("Unknown attendee in group");
+            }
+            mailOutbox.bookingConfirmed(eventId, attendeeIds);
+            eventCache.eventChanged(eventId);
+            liveUpdateService.eventChanged(eventId);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("events.group.booking", "outcome", outcome));
+        }
+    }
 
-        addParticipant(event); // Will throw an error if capacity is full
-        event.getParticipants().add(user);
-        eventRepository.save(event);
+    // A second booking of the same user violates the unique (event_id, user_id) constraint, a still valid token of a
+    // deleted user the user_id foreign key. Anything else is unexpected.
+    private static RuntimeException bookingRejected(DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof ConstraintViolationException violation) {
+            if (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return new InvalidRequestException("Event already booked");
+            }
+            // Hibernate only tells unique violations apart
+            if (FOREIGN_KEY_VIOLATIONS.contains(violation.getSQLState())) {
+                return new InvalidRequestException("User not found");
+            }
+        }
+        return ex;
     }
 
     @Transactional
     public void rateEvent(String eventId, String userId, int rating) {
-        // Check if event exists
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            applyRating(eventId, userId, rating);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("events.rating", "outcome", outcome));
+        }
+    }
 
-        // Check if user exists
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private void applyRating(String eventId, String userId, int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new InvalidRequestException("Rating must be between 1 and 5");
+        }
 
-//         Check if the user has already rated the event
+        // Check if event and user exist without loading them
+        if (!eventRepository.existsById(eventId)) {
+            throw new EntityNotFoundException("Event not found");
+        }
+        // Held until commit, a concurrent first rating by the same user waits here and then sees this one's row
+        if (userRepository.lockById(userId).isEmpty()) {
+            throw new EntityNotFoundException("User not found");
+        }
+
+        // Check if the user has already rated the event
         Optional<EventRating> existingRating = eventRatingRepository.findByEventIdAndUserId(eventId, userId);
+        int previousRating = 0;
         if (existingRating.isPresent()) {
+            previousRating = existingRating.get().getRating();
             existingRating.get().setRating(rating);
             eventRatingRepository.save(existingRating.get());
         }
         else {
             EventRating eventRating = new EventRating();
-            eventRating.setEvent(event);
-            eventRating.setUser(user);
+            eventRating.setEvent(eventRepository.getReferenceById(eventId));
+            eventRating.setUser(userRepository.getReferenceById(userId));
             eventRating.setRating(rating);
             eventRatingRepository.save(eventRating);
         }
-        updateEventAverageRating(event, rating);
-    }
-    public List<Event> findByCategory(EventCategory category) {
-        return eventRepository.findByCategory(category);
+        updateEventRatingStats(eventId, previousRating, rating);
+        mailOutbox.eventRated(eventId, rating);
+        eventCache.eventChanged(eventId);
+        liveUpdateService.eventChanged(eventId);
     }
 
-    // Get events by a specific city
-    public List<Event> findByCity(String city) {
-        return eventRepository.findByCity(city);
+    public List<EventSummaryDto> findByCategory(EventCategory category) {
+        return eventCache.getCategoryListing(category, () -> eventRepository.findByCategory(category)
+                .stream()
+                .map(eventMapper::toSummaryDto)
+                .collect(Collectors.toList()));
     }
 
-    // Get events by title containing a specific keyword
-    public List<Event> findByTitleContainingIgnoreCase(String keyword) {
-        return eventRepository.findByTitleContainingIgnoreCase(keyword);
+    // Get events by a specific city
+    public List<EventSummaryDto> findByCity(String city) {
+        return eventCache.getCityListing(city, () -> eventRepository.findByCity(city)
+                .stream()
+                .map(eventMapper::toSummaryDto)
+                .collect(Collectors.toList()));
     }
 
     // Get events occurring after a specific date
-    public List<Event> findByEventDateAfter(LocalDate date) {
-        return eventRepository.findByEventDateAfter(date);
+    public List<EventSummaryDto> findByEventDateAfter(LocalDate date) {
+        return eventRepository.findByEventDateAfter(date)
+                .stream()
+                .map(eventMapper::toSummaryDto)
+                .collect(Collectors.toList());
     }
 
     // Find events organized by a specific user
-    public List<EventResponseDto> findByOrganizerId(String organizerId) {
+    public List<EventSummaryDto> findByOrganizerId(String organizerId) {
         return eventRepository.findByOrganizerId(organizerId)
                 .stream()
-                .map(event -> modelMapper.map(event, EventResponseDto.class))
+                .map(eventMapper::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
-    private void addParticipant(Event event) {
-        int currentParticipants = event.getCurrentParticipants();
-        int maxParticipants = event.getMaxParticipants();
-        if (currentParticipants < maxParticipants) {
-            event.setCurrentParticipants(currentParticipants+1);
-        } else {
-            throw new RuntimeException("Event is full");
+    // Apply the change as deltas on the stored aggregates, previousRating is 0 for a first rating
+    private void updateEventRatingStats(String eventId, int previousRating, int newRating) {
+        int[] starDeltas = new int[6];
+        starDeltas[newRating]++;
+        if (previousRating > 0) {
+            starDeltas[previousRating]--;
         }
+        eventRepository.applyRatingDelta(eventId,
+                newRating - previousRating,
+                previousRating > 0 ? 0 : 1,
+                starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
     }
 
-    private void updateEventAverageRating(Event event, int userRating) {
-        List<EventRating> ratings = event.getRatings();
-        if (!ratings.isEmpty()) {
-            float totalRating = 0;
-            for (EventRating rating : ratings) {
-                totalRating += rating.getRating();
-            }
-            float averageRating = (float) totalRating / ratings.size();
-            event.setAverageRating(averageRating);
+    // The cached detail is the same for everyone, whether the caller booked it is asked separately
+    public boolean isBooked(String eventId, String userId) {
+        return bookingRepository.existsByEventIdAndUserIdAndStatus(eventId, userId, BookingStatus.CONFIRMED);
+    }
 
-        }
-        else {
-            event.setAverageRating((float) userRating);
-        }
+    public List<EventSummaryDto> findAllByParticipantId(String userId) {
+        return eventRepository.findBookedByUserId(userId).stream()
+                .map(eventMapper::toSummaryDto)
+                .collect(Collectors.toList());
+    }
 
-        eventRepository.save(event);
+    private String encodeCursor(Event event) {
+        String position = event.getEventDate() + "|" + event.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    public List<EventResponseDto> findAllByParticipantId(String userId) {
-        return eventRepository.findAllByParticipants_Id(userId).stream()
-                .map(event -> modelMapper.map(event, EventResponseDto.class))
-                .collect(Collectors.toList());
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (position.length != 2) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            LocalDate.parse(position[0]);
+            // Ids are uuid columns, anything else would only fail in the cast
+            position[1] = UUID.fromString(position[1]).toString();
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
     }
 }
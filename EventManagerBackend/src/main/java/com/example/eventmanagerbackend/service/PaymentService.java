@@ -1,39 +1,82 @@
 package com.example.eventmanagerbackend.service;
 
-import com.example.eventmanagerbackend.dto.EventCreateDto;
-import com.example.eventmanagerbackend.dto.EventResponseDto;
-import com.example.eventmanagerbackend.dto.EventUpdateDto;
 import com.example.eventmanagerbackend.dto.PaymentDto;
-import com.example.eventmanagerbackend.entity.Event;
-import com.example.eventmanagerbackend.entity.EventRating;
-import com.example.eventmanagerbackend.entity.User;
-import com.example.eventmanagerbackend.enums.EventCategory;
-import com.example.eventmanagerbackend.repository.EventRatingRepository;
-import com.example.eventmanagerbackend.repository.EventRepository;
-import com.example.eventmanagerbackend.repository.UserRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.eventmanagerbackend.enums.PaymentStatus;
+import com.example.eventmanagerbackend.payment.PaymentGateway;
+import com.example.eventmanagerbackend.payment.PaymentProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
-@RequiredArgsConstructor
 public class PaymentService {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
-    private String validCardNumber = "1234567812345678";
-    private String validExpirationDate = "24/12";
-    private String validCvv = "999";
+    private final PaymentGateway paymentGateway;
+    private final PaymentProperties properties;
+    private final Semaphore inFlight;
+    private final MeterRegistry meterRegistry;
 
-    public boolean verifyPayment(PaymentDto paymentInfo) {
-        return paymentInfo.getCardNumber().equals(validCardNumber) && paymentInfo.getExpirationDate().equals(validExpirationDate) && paymentInfo.getCvv().equals(validCvv);
+    public PaymentService(PaymentGateway paymentGateway, PaymentProperties properties, MeterRegistry meterRegistry) {
+        this.paymentGateway = paymentGateway;
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.getMaxConcurrent());
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("payment.verification.in.flight", inFlight, semaphore -> properties.getMaxConcurrent() - semaphore.availablePermits())
+                .register(meterRegistry);
+    }
+
+    // Completes when the gateway answers, times out or when too many verifications are already running
+    public CompletableFuture<PaymentStatus> verifyPayment(PaymentDto paymentInfo) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        if (!inFlight.tryAcquire()) {
+            sample.stop(verificationTimer(PaymentStatus.BUSY));
+            return CompletableFuture.completedFuture(PaymentStatus.BUSY);
+        }
+
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = paymentGateway.verify(paymentInfo);
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+        // The slot is held for as long as the gateway call runs, not just until the caller stops waiting
+        verification.whenComplete((valid, ex) -> inFlight.release());
+        return verification.copy()
+                .orTimeout(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((valid, ex) -> {
+                    PaymentStatus status = toStatus(valid, ex);
+                    if (status == PaymentStatus.TIMEOUT) {
+                        verification.cancel(true);
+                    }
+                    sample.stop(verificationTimer(status));
+                    return status;
+                });
+    }
+
+    private PaymentStatus toStatus(Boolean valid, Throwable ex) {
+        if (ex == null) {
+            return valid ? PaymentStatus.APPROVED : PaymentStatus.DECLINED;
+        }
+        if (ex instanceof TimeoutException || ex.getCause() instanceof TimeoutException) {
+            return PaymentStatus.TIMEOUT;
+        }
+        // Not the customer's card, the gateway itself failed
+        logger.error("Payment verification failed: {}", ex.getMessage(), ex);
+        return PaymentStatus.ERROR;
+    }
+
+    // Gateway round trip, requests turned away for lack of a slot are recorded as busy right away
+    private Timer verificationTimer(PaymentStatus status) {
+        return meterRegistry.timer("payment.verification", "status", status.name().toLowerCase());
     }
 }
@@ -0,0 +1,18 @@
+package com.example.eventmanagerbackend.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("seat-inventory")
+public class SeatInventoryProperties {
+    // How often a counter that rejects bookings is re-read from the database, so seats freed by cancellations,
+    // capacity changes or other instances become bookable again
+    private Duration fullRecheckInterval = Duration.ofSeconds(1);
+}
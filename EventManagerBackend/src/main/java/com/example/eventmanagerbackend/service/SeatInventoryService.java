@@ -0,0 +1,175 @@
+package com.example.eventmanagerbackend.service;
+
+import com.example.eventmanagerbackend.dto.SeatInventoryStatsDto;
+import com.example.eventmanagerbackend.projection.SeatCapacity;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admits or rejects seat reservations without loading the Event.
+// An in-memory counter per event rejects bookings for sold out events without touching the database,
+// the conditional UPDATE in EventRepository.reserveSeats stays the source of truth.
+// A counter that says full is re-read from the database every seat-inventory.full-recheck-interval.
+@Service
+public class SeatInventoryService {
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private SeatInventoryProperties properties;
+
+    private final ConcurrentHashMap<String, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder dbConflicts = new LongAdder();
+    private final LongAdder rolledBack = new LongAdder();
+
+    // Exposes the counters below as seat.reservations{outcome}, full excludes the conflicts counted separately
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("seat.reservations", admitted, LongAdder::sum)
+                .tag("outcome", "success").register(meterRegistry);
+        FunctionCounter.builder("seat.reservations", this, service -> service.rejectedFull.sum() - service.dbConflicts.sum())
+                .tag("outcome", "full").register(meterRegistry);
+        FunctionCounter.builder("seat.reservations", dbConflicts, LongAdder::sum)
+                .tag("outcome", "conflict").register(meterRegistry);
+        FunctionCounter.builder("seat.reservations", rolledBack, LongAdder::sum)
+                .tag("outcome", "rolled_back").register(meterRegistry);
+        FunctionCounter.builder("seat.reservations.cas.retries", casRetries, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("seat.inventory.tracked.events", counters, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    // Reserve seats inside the caller's transaction, they are given back if that transaction rolls back
+    public boolean tryReserve(String eventId, int seats) {
+        attempts.increment();
+        SeatCounter counter = counters.computeIfAbsent(eventId, this::loadCounter);
+        if (!counter.tryAcquire(seats)) {
+            counter = recheck(eventId, counter);
+            if (!counter.tryAcquire(seats)) {
+                rejectedFull.increment();
+                return false;
+            }
+        }
+
+        if (eventRepository.reserveSeats(eventId, seats) == 0) {
+            // The database disagrees (another instance booked or the capacity changed), resync on next attempt
+            counter.release(seats);
+            counters.remove(eventId, counter);
+            dbConflicts.increment();
+            rejectedFull.increment();
+            return false;
+        }
+
+        releaseOnRollback(counter, seats);
+        admitted.increment();
+        return true;
+    }
+
+    // Answered from memory once the event's counter is loaded, lets callers turn away bookings before any transaction
+    public boolean isSoldOut(String eventId) {
+        SeatCounter counter = counters.computeIfAbsent(eventId, this::loadCounter);
+        return counter.isFull() && recheck(eventId, counter).isFull();
+    }
+
+    // Drop the cached counter after the capacity changed or the event was deleted
+    public void evict(String eventId) {
+        counters.remove(eventId);
+    }
+
+    public SeatInventoryStatsDto getStats() {
+        return SeatInventoryStatsDto.builder()
+                .attempts(attempts.sum())
+                .admitted(admitted.sum())
+                .rejectedFull(rejectedFull.sum())
+                .casRetries(casRetries.sum())
+                .dbConflicts(dbConflicts.sum())
+                .rolledBack(rolledBack.sum())
+                .trackedEvents(counters.size())
+                .build();
+    }
+
+    private SeatCounter loadCounter(String eventId) {
+        SeatCapacity capacity = eventRepository.findSeatCapacityById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        return new SeatCounter(capacity.getMaxParticipants(), capacity.getCurrentParticipants());
+    }
+
+    // Replaces a counter that turns bookings away with a fresh read, at most once per interval and by one caller,
+    // the others keep answering from the old counter meanwhile
+    private SeatCounter recheck(String eventId, SeatCounter counter) {
+        if (!counter.claimRecheck(properties.getFullRecheckInterval().toNanos())) {
+            return counter;
+        }
+        SeatCounter fresh = loadCounter(eventId);
+        return counters.replace(eventId, counter, fresh) ? fresh : counter;
+    }
+
+    private void releaseOnRollback(SeatCounter counter, int seats) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counter.release(seats);
+                    rolledBack.increment();
+                }
+            }
+        });
+    }
+
+    private class SeatCounter {
+        private final int capacity;
+        private final AtomicInteger taken;
+        private final AtomicLong checkedAt = new AtomicLong(System.nanoTime());
+
+        SeatCounter(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        boolean claimRecheck(long intervalNanos) {
+            long last = checkedAt.get();
+            long now = System.nanoTime();
+            return now - last >= intervalNanos && checkedAt.compareAndSet(last, now);
+        }
+
+        boolean tryAcquire(int seats) {
+            while (true) {
+                int current = taken.get();
+                if (current + seats > capacity) {
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + seats)) {
+                    return true;
+                }
+                casRetries.increment();
+            }
+        }
+
+        boolean isFull() {
+            return taken.get() >= capacity;
+        }
+
+        void release(int seats) {
+            taken.addAndGet(-seats);
+        }
+    }
+}
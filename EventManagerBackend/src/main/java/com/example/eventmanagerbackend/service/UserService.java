@@ -1,24 +1,67 @@
 package com.example.eventmanagerbackend.service;
 
 import aj.org.objectweb.asm.commons.Remapper;
+import com.example.eventmanagerbackend.InvalidRequestException;
+import com.example.eventmanagerbackend.bulk.EventCsv;
+import com.example.eventmanagerbackend.dto.CursorPageDto;
+import com.example.eventmanagerbackend.entity.Ids;
 import com.example.eventmanagerbackend.entity.User;
 import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.projection.Attendee;
+import com.example.eventmanagerbackend.projection.UserCredentials;
+import com.example.eventmanagerbackend.repository.EventRepository;
 import com.example.eventmanagerbackend.repository.UserRepository;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
+    private static final int MAX_ROSTER_PAGE_SIZE = 500;
+    // Flush the CSV to the client every few rows
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    // Sorts before every uuid
+    private static final String FIRST_PAGE_AFTER_ID = new UUID(0, 0).toString();
+
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EventCsv eventCsv;
     public Optional<User>findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        return userRepository.findCredentialsByEmail(email);
+    }
+
+    // Replace the stored hash, e.g. after the BCrypt cost changed
+    @Transactional
+    public void updatePasswordHash(String id, String passwordHash) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setPassword(passwordHash);
+    }
+
     public List<User> findByRole(Role role) {
         return userRepository.findByRole(role);
     }
@@ -27,9 +70,54 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
 
-    public List<User> findUsersByBookedEvent(String eventId){
-        return userRepository.findUsersByBookedEvent(eventId);
+    // Rosters contain attendee emails, only the event's organizer may read them
+    public void checkOrganizer(String eventId, String userId) {
+        if (!eventRepository.existsByIdAndOrganizerId(eventId, userId)) {
+            throw new AccessDeniedException("Only the organizer of the event can see its attendees");
+        }
     }
+
+    // One page of an event's attendees ordered by id, the cursor is the last id of the previous page
+    public CursorPageDto<Attendee> getAttendeesPage(String eventId, String organizerId, String cursor, int size) {
+        if (size < 1 || size > MAX_ROSTER_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_ROSTER_PAGE_SIZE);
+        }
+        checkOrganizer(eventId, organizerId);
+
+        String afterId = cursor == null || cursor.isEmpty() ? FIRST_PAGE_AFTER_ID : decodeCursor(cursor);
+        // Fetch one extra row to know whether there is a next page
+        List<Attendee> attendees = userRepository.findAttendeesAfter(eventId, afterId, Limit.of(size + 1));
+        String nextCursor = null;
+        if (attendees.size() > size) {
+            attendees = attendees.subList(0, size);
+            nextCursor = encodeCursor(attendees.get(size - 1).getId());
+        }
+        return CursorPageDto.<Attendee>builder()
+                .items(attendees)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Write every attendee as a CSV row while it is read from the database
+    public void streamAttendeesCsv(String eventId, OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Attendee> attendees = userRepository.streamAttendees(eventId);
+                 SequenceWriter writer = eventCsv.attendeeWriter(out)) {
+                int written = 0;
+                for (Attendee attendee : (Iterable<Attendee>) attendees::iterator) {
+                    writer.write(eventCsv.toRow(attendee));
+                    if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     public Optional<User>findById(String id) {
         return userRepository.findById(id);
     }
@@ -44,7 +132,7 @@ public class UserService {
         }
         // Generate a UUID if it's not already set
         if (user.getId() == null || user.getId().isEmpty()) {
-            user.setId(UUID.randomUUID().toString());
+            user.setId(Ids.newId());
         }
         return userRepository.save(user);
     }
@@ -72,4 +160,16 @@ public class UserService {
         userRepository.delete(user);
     }
 
+    private String encodeCursor(String userId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(userId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            String afterId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return UUID.fromString(afterId).toString();
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
 }
@@ -0,0 +1,22 @@
+-- One-off backfill of the rating aggregates on events that were rated before they existed.
+-- Run once after deploying, step 5 of the upgrade in README.md. The application keeps them up to date afterwards.
+UPDATE events e
+SET rating_sum       = s.rating_sum,
+    rating_count     = s.rating_count,
+    one_star_count   = s.one_star_count,
+    two_star_count   = s.two_star_count,
+    three_star_count = s.three_star_count,
+    four_star_count  = s.four_star_count,
+    five_star_count  = s.five_star_count,
+    average_rating   = s.rating_sum::real / s.rating_count
+FROM (SELECT event_id,
+             SUM(rating)                             AS rating_sum,
+             COUNT(*)                                AS rating_count,
+             COUNT(*) FILTER (WHERE rating = 1)      AS one_star_count,
+             COUNT(*) FILTER (WHERE rating = 2)      AS two_star_count,
+             COUNT(*) FILTER (WHERE rating = 3)      AS three_star_count,
+             COUNT(*) FILTER (WHERE rating = 4)      AS four_star_count,
+             COUNT(*) FILTER (WHERE rating = 5)      AS five_star_count
+      FROM event_ratings
+      GROUP BY event_id) s
+WHERE e.id = s.event_id;
@@ -0,0 +1,35 @@
+-- Compares the old key layout (random uuids as varchar) with the new one (time-ordered uuids as native uuid).
+-- Run on a scratch database with psql: psql -d scratch -f benchmark-uuid-keys.sql
+-- Prints the insert time for each layout, then the size of each table and its primary key index.
+-- Random keys scatter inserts over the whole index, time-ordered ones append to its right edge.
+\set rows 1000000
+\timing on
+
+DROP TABLE IF EXISTS keys_varchar_v4;
+DROP TABLE IF EXISTS keys_uuid_v7;
+CREATE TABLE keys_varchar_v4 (id varchar(255) PRIMARY KEY, payload text NOT NULL);
+CREATE TABLE keys_uuid_v7 (id uuid PRIMARY KEY, payload text NOT NULL);
+
+-- Version 7 layout: 48-bit unix milliseconds, then the version and variant bits over random bits
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7() RETURNS uuid AS $$
+SELECT encode(
+        set_bit(set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1), 53, 1),
+        'hex')::uuid
+$$ LANGUAGE sql VOLATILE;
+
+INSERT INTO keys_varchar_v4 SELECT gen_random_uuid()::text, 'event ' || n FROM generate_series(1, :rows) n;
+INSERT INTO keys_uuid_v7 SELECT pg_temp.uuid_v7(), 'event ' || n FROM generate_series(1, :rows) n;
+
+\timing off
+SELECT relname                                                         AS table_name,
+       pg_size_pretty(pg_relation_size(oid))                           AS table_size,
+       pg_size_pretty(pg_relation_size((relname || '_pkey')::regclass)) AS primary_key_size
+FROM pg_class
+WHERE relname IN ('keys_varchar_v4', 'keys_uuid_v7');
+
+DROP TABLE keys_varchar_v4;
+DROP TABLE keys_uuid_v7;
@@ -0,0 +1,11 @@
+-- One-off cleanup before the uk_event_ratings_event_user constraint can be created, step 2 of the upgrade in README.md.
+-- Concurrent first ratings could store two rows for one user and event. Ratings have no timestamp and the ids are
+-- still random version 4 uuids when this runs, so the row with the greatest id is kept: an arbitrary one of the
+-- duplicates, not necessarily the latest rating.
+-- The new version's ddl-auto adds the constraint on its first start, backfill-rating-stats.sql (step 5) then
+-- recomputes the rating aggregates from the remaining rows.
+DELETE FROM event_ratings r
+USING event_ratings kept
+WHERE kept.event_id = r.event_id
+  AND kept.user_id = r.user_id
+  AND kept.id > r.id;
@@ -0,0 +1,55 @@
+-- One-off conversion of the varchar id columns to native uuid, step 3 of the upgrade in README.md.
+-- Run it with the application stopped, before starting the new version: ddl-auto does not change column types and
+-- the application now binds uuids. Every id and foreign key column is converted, tables that do not exist yet are
+-- skipped and columns that already are uuid are left alone.
+-- Existing ids are random (version 4) uuids and stay as they are, new rows get time-ordered (version 7) ids.
+-- Foreign keys cannot span a type change, so every one pointing at a converted table is dropped and re-created
+-- from its saved definition.
+BEGIN;
+
+CREATE TEMP TABLE id_columns (table_name text, column_name text) ON COMMIT DROP;
+INSERT INTO id_columns
+VALUES ('users', 'id'),
+       ('events', 'id'), ('events', 'organizer_id'),
+       ('event_ratings', 'id'), ('event_ratings', 'event_id'), ('event_ratings', 'user_id'),
+       ('event_participants', 'event_id'), ('event_participants', 'user_id'),
+       ('bookings', 'event_id'), ('bookings', 'user_id'), ('bookings', 'booked_by_id'),
+       ('revoked_tokens', 'token_id');
+
+CREATE TEMP TABLE id_foreign_keys ON COMMIT DROP AS
+SELECT c.conrelid::regclass AS table_name, c.conname AS name, pg_get_constraintdef(c.oid) AS definition
+FROM pg_constraint c
+WHERE c.contype = 'f'
+  AND c.confrelid IN ('users'::regclass, 'events'::regclass, 'event_ratings'::regclass);
+
+DO $$
+DECLARE
+    fk record;
+    conversion record;
+BEGIN
+    FOR fk IN SELECT * FROM id_foreign_keys LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.name);
+    END LOOP;
+
+    -- One ALTER TABLE per table, so each table is rewritten once
+    FOR conversion IN
+        SELECT c.table_name,
+               string_agg(format('ALTER COLUMN %1$I TYPE uuid USING %1$I::uuid', c.column_name), ', ') AS columns
+        FROM information_schema.columns c
+        JOIN id_columns i ON i.table_name = c.table_name AND i.column_name = c.column_name
+        WHERE c.table_schema = current_schema()
+          AND c.data_type <> 'uuid'
+        GROUP BY c.table_name
+    LOOP
+        EXECUTE format('ALTER TABLE %I %s', conversion.table_name, conversion.columns);
+    END LOOP;
+
+    FOR fk IN SELECT * FROM id_foreign_keys LOOP
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s', fk.table_name, fk.name, fk.definition);
+    END LOOP;
+END $$;
+
+COMMIT;
+
+-- Tables and indexes were rewritten, refresh planner statistics
+ANALYZE;
@@ -0,0 +1,37 @@
+-- One-off move of the event_participants join table into bookings, step 1 of the upgrade in README.md.
+-- Run it with the application stopped, before the ids are converted. The old version has no bookings table, so it is
+-- created here with the id type users.id has at that point, ddl-auto adds the foreign keys on the first start.
+-- Duplicate join rows collapse into one booking, and current_participants is recomputed from the bookings so that
+-- seats held by the collapsed duplicates are given back.
+BEGIN;
+
+DO $$
+DECLARE
+    id_type text := (SELECT format_type(a.atttypid, a.atttypmod)
+                     FROM pg_attribute a
+                     WHERE a.attrelid = 'users'::regclass AND a.attname = 'id');
+BEGIN
+    EXECUTE format($ddl$
+        CREATE TABLE IF NOT EXISTS bookings (
+            id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            event_id     %1$s NOT NULL,
+            user_id      %1$s NOT NULL,
+            booked_by_id %1$s,
+            status       varchar(255) NOT NULL CHECK (status IN ('CONFIRMED', 'CANCELLED')),
+            booked_at    timestamp(6) with time zone NOT NULL,
+            CONSTRAINT uk_bookings_event_user UNIQUE (event_id, user_id)
+        )$ddl$, id_type);
+END $$;
+CREATE INDEX IF NOT EXISTS idx_bookings_user_event ON bookings (user_id, event_id);
+
+INSERT INTO bookings (event_id, user_id, status, booked_at)
+SELECT DISTINCT p.event_id, p.user_id, 'CONFIRMED', now()
+FROM event_participants p
+ON CONFLICT (event_id, user_id) DO NOTHING;
+
+UPDATE events e
+SET current_participants = (SELECT count(*) FROM bookings b WHERE b.event_id = e.id);
+
+DROP TABLE event_participants;
+
+COMMIT;
@@ -0,0 +1,97 @@
+package com.example.eventmanagerbackend;
+
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.UserRepository;
+import com.example.eventmanagerbackend.security.JwtIssuer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Boots the whole application on an in-memory H2 database (application-test.properties).
+// Every test creates its own users and events, so tests never depend on each other's data.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+    // One in-process SMTP server for the whole run, the outbox dispatcher of every application context sends to it.
+    // Other tests' mails end up here too, look messages up by their unique recipient.
+    protected static final GreenMail smtp = startSmtp();
+
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    protected JwtIssuer jwtIssuer;
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void smtpPort(DynamicPropertyRegistry registry) {
+        registry.add("test.smtp.port", () -> smtp.getSmtp().getPort());
+    }
+
+    private static GreenMail startSmtp() {
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        return greenMail;
+    }
+
+    protected User createUser(Role role) {
+        User user = new User();
+        user.setFullName(role.name().toLowerCase() + " user");
+        user.setEmail(UUID.randomUUID() + "@test.local");
+        user.setPassword("not used, tests authenticate with issued tokens");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    // Authorization header value for the user
+    protected String bearer(User user) {
+        return "Bearer " + jwtIssuer.issue(user.getId(), user.getEmail(), List.of(user.getRole().name()));
+    }
+
+    // Created over HTTP like the frontend does, returns the event id
+    protected String createEvent(User organizer, String city, int seats) throws Exception {
+        String body = """
+                {"title":"Test event in %s","description":"Created by a test","eventDate":"%s",
+                 "startTime":"20:00:00","endTime":"22:00:00","city":"%s","location":"Main stage",
+                 "category":"CONCERT","price":25,"maxParticipants":%d}
+                """.formatted(city, LocalDate.now().plusMonths(1), city, seats);
+        String response = mockMvc.perform(post("/events/create")
+                        .header("Authorization", bearer(organizer))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    // A city no other test uses, so the city listings start out cold
+    protected static String uniqueCity() {
+        return "City " + UUID.randomUUID();
+    }
+
+    // Empties the second-level and query caches, the next read has to go to the database
+    protected void evictSecondLevelCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.eventmanagerbackend.admission;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.service.EventService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Flash sale flow over HTTP: an admin opens the room, members join, poll and book with their ticket
+class WaitingRoomServiceTest extends IntegrationTest {
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    void ticketThatIsNotAdmittedYetGetsRetryAfter() throws Exception {
+        String eventId = openRoom(10, 1);
+        List<User> members = new ArrayList<>();
+        List<String> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User member = createUser(Role.MEMBER);
+            members.add(member);
+            tickets.add(join(member, eventId));
+        }
+
+        // One position a second, the last member waits for the four ahead of it
+        String retryAfter = book(members.getLast(), eventId, tickets.getLast())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().string(startsWith("Not admitted yet")))
+                .andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+        assertThat(Long.parseLong(retryAfter)).isBetween(3L, 5L);
+
+        book(members.getFirst(), eventId, null)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(content().string("Join the waiting room first"));
+    }
+
+    @Test
+    void soldOutEventAnswersSoldOut() throws Exception {
+        String eventId = openRoom(1, 1000);
+        User member = createUser(Role.MEMBER);
+        String ticket = join(member, eventId);
+        eventService.bookEvent(eventId, createUser(Role.MEMBER).getId());
+
+        mockMvc.perform(get("/events/" + eventId + "/queue/" + ticket).header("Authorization", bearer(member)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SOLD_OUT"));
+        mockMvc.perform(post("/events/" + eventId + "/queue").header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SOLD_OUT"));
+        book(member, eventId, ticket)
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void admittedTicketIsGoodForOneBooking() throws Exception {
+        String eventId = openRoom(10, 1000);
+        User member = createUser(Role.MEMBER);
+        String ticket = join(member, eventId);
+        awaitAdmission(member, eventId, ticket);
+
+        book(member, eventId, ticket)
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/events/" + eventId + "/book-group")
+                        .header("Authorization", bearer(member))
+                        .header(WaitingRoomService.TICKET_HEADER, ticket)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"attendeeIds\":[\"" + createUser(Role.MEMBER).getId() + "\",\"" + member.getId() + "\"]}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(content().string("Join the waiting room first"));
+    }
+
+    // Returns the event id
+    private String openRoom(int seats, int rate) throws Exception {
+        User admin = createUser(Role.ADMIN);
+        String eventId = createEvent(admin, uniqueCity(), seats);
+        mockMvc.perform(put("/events/" + eventId + "/queue").param("rate", String.valueOf(rate))
+                        .header("Authorization", bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(true));
+        return eventId;
+    }
+
+    // Returns the ticket
+    private String join(User member, String eventId) throws Exception {
+        String response = mockMvc.perform(post("/events/" + eventId + "/queue").header("Authorization", bearer(member)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.ticket");
+    }
+
+    private void awaitAdmission(User member, String eventId, String ticket) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String response = mockMvc.perform(get("/events/" + eventId + "/queue/" + ticket)
+                            .header("Authorization", bearer(member)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if ("ADMITTED".equals(JsonPath.read(response, "$.status"))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Ticket was never admitted");
+    }
+
+    private ResultActions book(User member, String eventId, String ticket) throws Exception {
+        MockHttpServletRequestBuilder request = post("/events/" + eventId + "/book").header("Authorization", bearer(member));
+        if (ticket != null) {
+            request.header(WaitingRoomService.TICKET_HEADER, ticket);
+        }
+        return mockMvc.perform(request);
+    }
+}
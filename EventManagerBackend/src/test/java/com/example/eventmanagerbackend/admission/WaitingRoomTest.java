@@ -0,0 +1,100 @@
+package com.example.eventmanagerbackend.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The clock only moves when a test moves it
+class WaitingRoomTest {
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void admitsPositionsAtTheAdmissionRate() {
+        WaitingRoom room = new WaitingRoom(10, WINDOW, now::get);
+        for (int i = 0; i < 30; i++) {
+            room.join("user" + i);
+        }
+
+        assertThat(room.admittedThrough()).isZero();
+        advance(500);
+        assertThat(room.admittedThrough()).isEqualTo(5);
+        advance(1000);
+        assertThat(room.admittedThrough()).isEqualTo(15);
+        // Never past the last issued position
+        advance(10_000);
+        assertThat(room.admittedThrough()).isEqualTo(30);
+    }
+
+    @Test
+    void idleTimeDoesNotTurnIntoABurst() {
+        WaitingRoom room = new WaitingRoom(10, WINDOW, now::get);
+        advance(60_000);
+        // The service looks at the admitted position before issuing a ticket
+        assertThat(room.admittedThrough()).isZero();
+        for (int i = 0; i < 30; i++) {
+            room.join("user" + i);
+        }
+
+        assertThat(room.admittedThrough()).isZero();
+        advance(100);
+        assertThat(room.admittedThrough()).isEqualTo(1);
+    }
+
+    @Test
+    void joiningAgainKeepsTheTicket() {
+        WaitingRoom room = new WaitingRoom(10, WINDOW, now::get);
+        WaitingRoom.Ticket first = room.join("user");
+        room.join("other");
+
+        assertThat(room.join("user")).isEqualTo(first);
+        assertThat(room.getIssued()).isEqualTo(2);
+        room.leave("user");
+        assertThat(room.join("user").position()).isEqualTo(3);
+    }
+
+    @Test
+    void admittedTicketsExpireAfterTheWindow() {
+        WaitingRoom room = new WaitingRoom(10, WINDOW, now::get);
+        for (int i = 0; i < 20; i++) {
+            room.join("user" + i);
+        }
+
+        advance(1000);
+        assertThat(room.admittedThrough()).isEqualTo(10);
+        advance(WINDOW.toMillis() - 1000);
+        // Admitted only a second ago, still good
+        assertThat(room.getTicket("user10")).isNotNull();
+        assertThat(room.getTicket("user9")).isNotNull();
+
+        advance(1000);
+        // The first ten were admitted a whole window ago, nobody booked
+        assertThat(room.expire()).isEqualTo(10);
+        assertThat(room.getTicket("user0")).isNull();
+        assertThat(room.getTicket("user10")).isNotNull();
+
+        // Joining again goes to the back of the queue
+        assertThat(room.join("user0").position()).isEqualTo(21);
+    }
+
+    @Test
+    void waitingTicketsDoNotExpire() {
+        WaitingRoom room = new WaitingRoom(1, WINDOW, now::get);
+        for (int i = 0; i < 1000; i++) {
+            room.join("user" + i);
+        }
+
+        advance(WINDOW.toMillis() * 2);
+        room.expire();
+        assertThat(room.getTicket("user999")).isNotNull();
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
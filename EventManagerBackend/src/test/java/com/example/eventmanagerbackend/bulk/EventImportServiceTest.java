@@ -0,0 +1,167 @@
+package com.example.eventmanagerbackend.bulk;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Chunks of two rows, so a few lines of input already span several transactions
+@TestPropertySource(properties = "event-import.chunk-size=2")
+class EventImportServiceTest extends IntegrationTest {
+    private static final String CSV_HEADER =
+            "title,description,eventDate,startTime,endTime,city,location,category,price,maxParticipants\n";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void invalidRowsAreReportedAndTheOthersImported() throws Exception {
+        String admin = bearer(createUser(Role.ADMIN));
+        String city = uniqueCity();
+        String body = String.join("\n",
+                ndjsonRow("First", city, "20:00:00", "22:00:00", 50),
+                ndjsonRow("", city, "20:00:00", "22:00:00", 50),
+                ndjsonRow("Ends before it starts", city, "22:00:00", "20:00:00", 50),
+                ndjsonRow("Second", city, "20:00:00", "22:00:00", 50),
+                ndjsonRow("No seats", city, "20:00:00", "22:00:00", 0),
+                ndjsonRow("Third", city, "20:00:00", "22:00:00", 50).replace("\"CONCERT\"", "\"NOT_A_CATEGORY\""),
+                ndjsonRow("Fourth", city, "20:00:00", "22:00:00", 50));
+
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", admin)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.errors[0]").value("row 2: title is required"))
+                .andExpect(jsonPath("$.errors[1]").value("row 3: endTime must be after startTime"))
+                .andExpect(jsonPath("$.errors[2]").value("row 5: maxParticipants must be positive"))
+                .andExpect(jsonPath("$.errors[3]", startsWith("row 6: ")));
+
+        assertThat(eventRepository.findByCity(city)).extracting(Event::getTitle)
+                .containsExactlyInAnyOrder("First", "Second", "Fourth");
+    }
+
+    @Test
+    void malformedInputKeepsTheChunksCommittedBeforeIt() throws Exception {
+        String admin = bearer(createUser(Role.ADMIN));
+        String city = uniqueCity();
+        String body = CSV_HEADER + String.join("\n",
+                csvRow("One", city), csvRow("Two", city),
+                csvRow("Three", city), csvRow("Four", city),
+                csvRow("Five", city),
+                "\"Unterminated quote," + city,
+                csvRow("Never read", city));
+
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", admin)
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(5))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.complete").value(false))
+                .andExpect(jsonPath("$.errors", contains(startsWith("line "))));
+
+        assertThat(eventRepository.findByCity(city)).extracting(Event::getTitle)
+                .containsExactlyInAnyOrder("One", "Two", "Three", "Four", "Five");
+    }
+
+    @Test
+    void csvExportImportsAgainUnchanged() throws Exception {
+        String admin = bearer(createUser(Role.ADMIN));
+        String city = uniqueCity();
+        importEvents(admin, "text/csv", CSV_HEADER + String.join("\n",
+                csvRow("Plain", city),
+                "\"Quoted, \"\"with\"\" commas\",\"Doors at 19:00, bring earplugs\"," + LocalDate.now().plusMonths(2)
+                        + ",19:30:00,23:00:00," + city + ",\"Hall 1, back entrance\",CONFERENCE,12.5,300",
+                csvRow("Third", city)));
+
+        String export = export(admin, get("/events/all").param("stream", "true").param("format", "csv"));
+        String otherCity = uniqueCity();
+        importEvents(admin, "text/csv", export.lines().findFirst().orElseThrow() + "\n" + rowsOf(export, city, otherCity));
+
+        assertThat(describe(otherCity)).hasSize(3).isEqualTo(describe(city));
+    }
+
+    @Test
+    void ndjsonExportImportsAgainUnchanged() throws Exception {
+        String admin = bearer(createUser(Role.ADMIN));
+        String city = uniqueCity();
+        importEvents(admin, "application/x-ndjson", String.join("\n",
+                ndjsonRow("Early", city, "09:00:00", "11:00:00", 20),
+                ndjsonRow("Late", city, "21:00:00", "23:30:00", 400),
+                ndjsonRow("Quoted \\\"title\\\"", city, "12:00:00", "13:00:00", 5)));
+
+        String export = export(admin, get("/events/all").param("stream", "true"));
+        String otherCity = uniqueCity();
+        importEvents(admin, "application/x-ndjson", rowsOf(export, city, otherCity));
+
+        assertThat(describe(otherCity)).hasSize(3).isEqualTo(describe(city));
+    }
+
+    private void importEvents(String admin, String contentType, String body) throws Exception {
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", admin)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    private String export(String admin, MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult export = mockMvc.perform(request.header("Authorization", admin)).andReturn();
+        return mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    // The exported rows of one city, moved to another city so they import as new events
+    private static String rowsOf(String export, String city, String otherCity) {
+        return export.lines()
+                .filter(line -> line.contains(city))
+                .map(line -> line.replace(city, otherCity))
+                .collect(Collectors.joining("\n"));
+    }
+
+    // Every imported column of the events in a city, in a stable order
+    private List<String> describe(String city) {
+        return eventRepository.findByCity(city).stream()
+                .map(event -> String.join("|", event.getTitle(), String.valueOf(event.getDescription()),
+                        event.getEventDate().toString(), event.getStartTime().toString(), event.getEndTime().toString(),
+                        event.getLocation(), event.getCategory().name(), String.valueOf(event.getPrice()),
+                        String.valueOf(event.getMaxParticipants())))
+                .sorted()
+                .toList();
+    }
+
+    private static String ndjsonRow(String title, String city, String startTime, String endTime, int seats) {
+        return """
+                {"title":"%s","description":"Imported","eventDate":"%s","startTime":"%s","endTime":"%s","city":"%s","location":"Main stage","category":"CONCERT","price":25,"maxParticipants":%d}"""
+                .formatted(title, LocalDate.now().plusMonths(1), startTime, endTime, city, seats);
+    }
+
+    private static String csvRow(String title, String city) {
+        return title + ",Imported," + LocalDate.now().plusMonths(1) + ",20:00:00,22:00:00," + city + ",Main stage,CONCERT,25,50";
+    }
+}
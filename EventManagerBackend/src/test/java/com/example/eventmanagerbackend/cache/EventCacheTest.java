@@ -0,0 +1,60 @@
+package com.example.eventmanagerbackend.cache;
+
+import com.example.eventmanagerbackend.dto.EventSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs outside a transaction, so invalidations apply immediately
+class EventCacheTest {
+    private final EventCache eventCache = new EventCache(new EventCacheProperties(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void listingIsCachedUntilOneOfItsEventsChanges() {
+        assertThat(eventCache.getCityListing("Oslo", () -> load("first", 1))).extracting("currentParticipants").containsExactly(1);
+        assertThat(eventCache.getCityListing("Oslo", () -> load("first", 2))).extracting("currentParticipants").containsExactly(1);
+
+        eventCache.eventChanged("first");
+        assertThat(eventCache.getCityListing("Oslo", () -> load("first", 2))).extracting("currentParticipants").containsExactly(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void changeDuringLoadKeepsTheResultOutOfTheCache() {
+        List<EventSummaryDto> loaded = eventCache.getCityListing("Bergen", () -> {
+            List<EventSummaryDto> events = load("second", 1);
+            // Committed after the query read the old seat count
+            eventCache.eventChanged("second");
+            return events;
+        });
+        assertThat(loaded).extracting("currentParticipants").containsExactly(1);
+
+        assertThat(eventCache.getCityListing("Bergen", () -> load("second", 2))).extracting("currentParticipants").containsExactly(2);
+        assertThat(eventCache.getCityListing("Bergen", () -> load("second", 3))).extracting("currentParticipants").containsExactly(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void changeToAnotherEventDuringLoadDoesNotMatter() {
+        eventCache.getCityListing("Trondheim", () -> {
+            List<EventSummaryDto> events = load("third", 1);
+            eventCache.eventChanged("unrelated");
+            return events;
+        });
+        assertThat(eventCache.getCityListing("Trondheim", () -> load("third", 2))).extracting("currentParticipants").containsExactly(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    private List<EventSummaryDto> load(String eventId, int currentParticipants) {
+        loads.incrementAndGet();
+        EventSummaryDto event = new EventSummaryDto();
+        event.setId(eventId);
+        event.setCurrentParticipants(currentParticipants);
+        return List.of(event);
+    }
+}
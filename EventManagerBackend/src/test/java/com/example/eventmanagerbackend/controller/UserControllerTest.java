@@ -0,0 +1,58 @@
+package com.example.eventmanagerbackend.controller;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Rosters are only readable by the organizer of the event
+class UserControllerTest extends IntegrationTest {
+    private User organizer;
+    private User attendee;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        organizer = createUser(Role.ADMIN);
+        attendee = createUser(Role.MEMBER);
+        eventId = createEvent(organizer, uniqueCity(), 10);
+        mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", bearer(attendee)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void organizerReadsTheRoster() throws Exception {
+        mockMvc.perform(get("/users/booked-event/" + eventId).header("Authorization", bearer(organizer)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].email").value(attendee.getEmail()));
+
+        MvcResult export = mockMvc.perform(get("/users/booked-event/" + eventId + "/export")
+                        .header("Authorization", bearer(organizer)))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(attendee.getEmail())));
+    }
+
+    @Test
+    void otherAdminCannotReadTheRoster() throws Exception {
+        String otherAdmin = bearer(createUser(Role.ADMIN));
+
+        mockMvc.perform(get("/users/booked-event/" + eventId).header("Authorization", otherAdmin))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/users/booked-event/" + eventId + "/export").header("Authorization", otherAdmin))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.eventmanagerbackend.live;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs on a real Tomcat: behind a proxy every stream arrives from the proxy's address, the per-client cap has to
+// count the forwarded client addresses. Requests from loopback are trusted as a proxy by default.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "live-updates.max-subscribers-per-client=2")
+class LiveUpdateForwardedClientTest extends IntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<InputStream> streams = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (InputStream stream : streams) {
+            stream.close();
+        }
+        client.close();
+    }
+
+    @Test
+    void capCountsForwardedClientsNotTheProxy() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(open(eventId, "203.0.113." + i)).isEqualTo(200);
+        }
+
+        assertThat(open(eventId, "198.51.100.1")).isEqualTo(200);
+        assertThat(open(eventId, "198.51.100.1")).isEqualTo(200);
+        assertThat(open(eventId, "198.51.100.1")).isEqualTo(503);
+    }
+
+    // Returns once the headers arrived, the stream stays open until the test ends
+    private int open(String eventId, String clientAddress) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events/" + eventId + "/live"))
+                .header("X-Forwarded-For", clientAddress)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        streams.add(response.body());
+        return response.statusCode();
+    }
+}
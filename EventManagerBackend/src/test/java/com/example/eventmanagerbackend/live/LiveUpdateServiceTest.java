@@ -0,0 +1,116 @@
+package com.example.eventmanagerbackend.live;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {"live-updates.send-timeout=1s", "live-updates.max-subscribers-per-client=3"})
+class LiveUpdateServiceTest extends IntegrationTest {
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // A stream that stopped reading is simulated by holding the emitter's lock, which every write takes
+    @Test
+    void stuckStreamDoesNotHoldUpOthersAndIsDropped() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        MockHttpServletResponse open = mockMvc.perform(get("/events/" + eventId + "/live")).andReturn().getResponse();
+        SseEmitter stuck = liveUpdateService.subscribe(eventId, "10.0.0.1");
+        double subscribers = subscribers();
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = Thread.ofPlatform().daemon().start(() -> {
+            synchronized (stuck) {
+                held.countDown();
+                awaitQuietly(release);
+            }
+        });
+        held.await();
+        try {
+            book(eventId, createUser(Role.MEMBER));
+            await(() -> contains(open, "\"currentParticipants\":1"));
+            book(eventId, createUser(Role.MEMBER));
+            await(() -> contains(open, "\"currentParticipants\":2"));
+
+            // Past the send timeout the next frame for the stream drops it
+            Thread.sleep(1100);
+            liveUpdateService.heartbeat();
+            assertThat(subscribers()).isEqualTo(subscribers - 1);
+        } finally {
+            release.countDown();
+            reader.join();
+        }
+    }
+
+    @Test
+    void streamsPerClientAreLimited() throws Exception {
+        User organizer = createUser(Role.ADMIN);
+        String eventId = createEvent(organizer, uniqueCity(), 10);
+        liveUpdateService.subscribe(eventId, "10.0.1.1");
+        liveUpdateService.subscribe(eventId, "10.0.1.1");
+        liveUpdateService.subscribe(createEvent(organizer, uniqueCity(), 10), "10.0.1.1");
+
+        mockMvc.perform(get("/events/" + eventId + "/live").with(request -> {
+                    request.setRemoteAddr("10.0.1.1");
+                    return request;
+                }))
+                .andExpect(status().isServiceUnavailable());
+        assertThatThrownBy(() -> liveUpdateService.subscribe(eventId, "10.0.1.1"))
+                .isInstanceOf(SubscriberLimitException.class);
+        // Other clients still get on the same hot event
+        for (int i = 0; i < 5; i++) {
+            liveUpdateService.subscribe(eventId, "10.0.2." + i);
+        }
+    }
+
+    private void book(String eventId, User member) throws Exception {
+        mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", bearer(member)))
+                .andExpect(status().isOk());
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("events.live.subscribers").gauge().value();
+    }
+
+    private static boolean contains(MockHttpServletResponse response, String text) {
+        try {
+            return response.getContentAsString().contains(text);
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    // Frames go out on the next tick
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
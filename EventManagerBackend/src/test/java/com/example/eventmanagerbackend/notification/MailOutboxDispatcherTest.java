@@ -0,0 +1,191 @@
+package com.example.eventmanagerbackend.notification;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.OutboxMessage;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.NotificationType;
+import com.example.eventmanagerbackend.enums.OutboxStatus;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.OutboxMessageRepository;
+import com.example.eventmanagerbackend.service.EventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Drives a dispatcher of its own against the GreenMail server of IntegrationTest. The scheduled dispatcher only runs
+// once at startup, so it never claims the rows written here.
+@TestPropertySource(properties = "mail-outbox.poll-interval=1h")
+class MailOutboxDispatcherTest extends IntegrationTest {
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private MailTemplates mailTemplates;
+    @Autowired
+    private JavaMailSender mailSender;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EventService eventService;
+
+    private MailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void sentMessageIsMarkedSent() throws Exception {
+        dispatcher = dispatcher(mailSender, 3);
+        OutboxMessage message = queue();
+
+        dispatcher.dispatch();
+
+        OutboxMessage row = outboxMessageRepository.findById(message.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(receivedBy(message.getRecipient())).singleElement()
+                .satisfies(mail -> assertThat(mail.getSubject()).isEqualTo("Your booking for Test event is confirmed"));
+    }
+
+    @Test
+    void bookingConfirmationReachesTheAttendee() throws Exception {
+        dispatcher = dispatcher(mailSender, 3);
+        User member = createUser(Role.MEMBER);
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", bearer(member)))
+                .andExpect(status().isOk());
+
+        dispatcher.dispatch();
+
+        assertThat(receivedBy(member.getEmail())).singleElement()
+                .satisfies(mail -> assertThat(mail.getSubject()).startsWith("Your booking for Test event in "));
+    }
+
+    @Test
+    void placeholdersInValuesAreCopiedLiterally() throws Exception {
+        dispatcher = dispatcher(mailSender, 3);
+        OutboxMessage message = queue("${eventTitle} and ${x}", "${recipientName}");
+
+        dispatcher.dispatch();
+
+        assertThat(outboxMessageRepository.findById(message.getId()).orElseThrow().getStatus())
+                .isEqualTo(OutboxStatus.SENT);
+        assertThat(receivedBy(message.getRecipient())).singleElement().satisfies(mail -> {
+            assertThat(mail.getSubject()).isEqualTo("Your booking for ${eventTitle} and ${x} is confirmed");
+            assertThat((String) mail.getContent()).contains("Hello ${recipientName},");
+        });
+    }
+
+    @Test
+    void rolledBackBookingLeavesNoOutboxRow() throws Exception {
+        User member = createUser(Role.MEMBER);
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // The booking joins the surrounding transaction, a later failure in it takes the queued mail back too
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventService.bookEvent(eventId, member.getId());
+            throw new IllegalStateException("Payment declined");
+        })).hasMessage("Payment declined");
+
+        assertThat(outboxMessageRepository.findAll())
+                .noneMatch(row -> row.getRecipient().equals(member.getEmail()));
+        dispatcher = dispatcher(mailSender, 3);
+        dispatcher.dispatch();
+        assertThat(receivedBy(member.getEmail())).isEmpty();
+    }
+
+    @Test
+    void failedSendIsRetriedUntilMaxAttempts() throws Exception {
+        dispatcher = dispatcher(unreachableMailServer(), 2);
+        OutboxMessage message = queue();
+
+        dispatcher.dispatch();
+        OutboxMessage row = outboxMessageRepository.findById(message.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getLastError()).startsWith("MailSendException: Mail server connection failed");
+
+        dispatcher.dispatch();
+        row = outboxMessageRepository.findById(message.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(row.getAttempts()).isEqualTo(2);
+        assertThat(receivedBy(message.getRecipient())).isEmpty();
+    }
+
+    // Retries are due right away, so every dispatch() makes one attempt
+    private MailOutboxDispatcher dispatcher(JavaMailSender mailSender, int maxAttempts) {
+        MailOutboxProperties properties = new MailOutboxProperties();
+        properties.setMaxAttempts(maxAttempts);
+        properties.setInitialBackoff(Duration.ZERO);
+        return new MailOutboxDispatcher(outboxMessageRepository, mailTemplates, mailSender, properties,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    // Points at a port that was free a moment ago, connections are refused
+    private static JavaMailSender unreachableMailServer() throws IOException {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        try (ServerSocket socket = new ServerSocket(0)) {
+            mailSender.setPort(socket.getLocalPort());
+        }
+        return mailSender;
+    }
+
+    private static List<MimeMessage> receivedBy(String recipient) {
+        return Arrays.stream(smtp.getReceivedMessages())
+                .filter(mail -> isAddressedTo(mail, recipient))
+                .toList();
+    }
+
+    private static boolean isAddressedTo(MimeMessage mail, String recipient) {
+        try {
+            return Arrays.stream(mail.getRecipients(Message.RecipientType.TO))
+                    .anyMatch(address -> address.toString().equals(recipient));
+        } catch (MessagingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private OutboxMessage queue() {
+        return queue("Test event", null);
+    }
+
+    private OutboxMessage queue(String eventTitle, String recipientName) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(NotificationType.BOOKING_CONFIRMED);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setRecipient(UUID.randomUUID() + "@test.local");
+        message.setEventId(UUID.randomUUID().toString());
+        message.setEventTitle(eventTitle);
+        message.setRecipientName(recipientName);
+        message.setCreatedAt(Instant.now());
+        message.setNextAttemptAt(Instant.now());
+        return outboxMessageRepository.save(message);
+    }
+}
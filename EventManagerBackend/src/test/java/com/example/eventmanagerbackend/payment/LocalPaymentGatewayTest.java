@@ -0,0 +1,57 @@
+package com.example.eventmanagerbackend.payment;
+
+import com.example.eventmanagerbackend.dto.PaymentDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Answers run on a counting executor, a cancelled verification must never reach it
+class LocalPaymentGatewayTest {
+    private final AtomicInteger answers = new AtomicInteger();
+    private LocalPaymentGateway gateway;
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+    }
+
+    @Test
+    void answersAfterTheLatency() {
+        gateway = gateway(Duration.ofMillis(50));
+        PaymentDto payment = new PaymentDto();
+        payment.setCardNumber("1234567812345678");
+        payment.setExpirationDate("24/12");
+        payment.setCvv("999");
+
+        assertThat(gateway.verify(payment).join()).isTrue();
+        assertThat(gateway.verify(new PaymentDto()).join()).isFalse();
+        assertThat(answers).hasValue(2);
+    }
+
+    @Test
+    void cancelledVerificationIsNeverAnswered() throws InterruptedException {
+        gateway = gateway(Duration.ofMillis(100));
+
+        CompletableFuture<Boolean> verification = gateway.verify(new PaymentDto());
+        verification.cancel(true);
+        Thread.sleep(300);
+
+        assertThat(answers).hasValue(0);
+        assertThat(gateway.verify(new PaymentDto()).join()).isFalse();
+        assertThat(answers).hasValue(1);
+    }
+
+    private LocalPaymentGateway gateway(Duration latency) {
+        PaymentProperties properties = new PaymentProperties();
+        properties.setGatewayLatency(latency);
+        return new LocalPaymentGateway(properties, task -> {
+            answers.incrementAndGet();
+            task.run();
+        });
+    }
+}
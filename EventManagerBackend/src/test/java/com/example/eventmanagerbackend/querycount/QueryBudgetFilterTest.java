@@ -0,0 +1,53 @@
+package com.example.eventmanagerbackend.querycount;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Strict mode replaces the response of an endpoint that went over its budget
+@Import(QueryBudgetFilterTest.ProbeController.class)
+class QueryBudgetFilterTest extends IntegrationTest {
+
+    @RestController
+    static class ProbeController {
+        private final UserRepository userRepository;
+
+        ProbeController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/probe/over-budget")
+        @QueryBudget(1)
+        public long overBudget() {
+            return userRepository.count() + userRepository.count();
+        }
+
+        @GetMapping("/probe/within-budget")
+        @QueryBudget(2)
+        public long withinBudget() {
+            return userRepository.count() + userRepository.count();
+        }
+    }
+
+    @Test
+    void overrunBecomesServerError() throws Exception {
+        mockMvc.perform(get("/probe/over-budget").header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(containsString("2 statements, budget is 1")));
+    }
+
+    @Test
+    void responseWithinBudgetIsUntouched() throws Exception {
+        mockMvc.perform(get("/probe/within-budget").header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isOk());
+    }
+}
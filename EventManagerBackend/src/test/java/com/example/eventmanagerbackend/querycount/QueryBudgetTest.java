@@ -0,0 +1,196 @@
+package com.example.eventmanagerbackend.querycount;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Runs every @QueryBudget endpoint in strict mode on cold caches and fails when it issues more statements than
+// its budget allows. The last test makes sure a newly annotated endpoint cannot go without a test here.
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class QueryBudgetTest extends IntegrationTest {
+    private static final Set<Method> COVERED = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private User admin;
+    private User member;
+    private String city;
+    private String eventId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        admin = createUser(Role.ADMIN);
+        member = createUser(Role.MEMBER);
+        city = uniqueCity();
+        eventId = createEvent(admin, city, 10);
+        createEvent(admin, city, 10);
+        evictSecondLevelCache();
+    }
+
+    @Test
+    void getAllEvents() throws Exception {
+        String cursor = JsonPath.read(
+                withinBudget(get("/events/all?size=1").header("Authorization", bearer(member)))
+                        .getResponse().getContentAsString(), "$.nextCursor");
+        withinBudget(get("/events/all?size=1&cursor=" + cursor).header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void getEventById() throws Exception {
+        book(member);
+        book(createUser(Role.MEMBER));
+        evictSecondLevelCache();
+        MvcResult result = withinBudget(get("/events/" + eventId).header("Authorization", bearer(member)));
+        // Attendees are paged through /users/booked-event, the detail does not grow with them
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("participants\"");
+    }
+
+    @Test
+    void isBooked() throws Exception {
+        book(member);
+        evictSecondLevelCache();
+        assertThat(withinBudget(get("/events/" + eventId + "/booked").header("Authorization", bearer(member)))
+                .getResponse().getContentAsString()).isEqualTo("true");
+        assertThat(withinBudget(get("/events/" + eventId + "/booked").header("Authorization", bearer(createUser(Role.MEMBER))))
+                .getResponse().getContentAsString()).isEqualTo("false");
+    }
+
+    @Test
+    void liveStatus() throws Exception {
+        MvcResult result = withinBudget(get("/events/" + eventId + "/live"));
+        assertThat(result.getRequest().isAsyncStarted()).isTrue();
+        assertThat(result.getResponse().getContentAsString()).contains("event:status");
+    }
+
+    @Test
+    void bookEvent() throws Exception {
+        withinBudget(post("/events/" + eventId + "/book").header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void bookGroup() throws Exception {
+        User friend = createUser(Role.MEMBER);
+        withinBudget(post("/events/" + eventId + "/book-group")
+                .header("Authorization", bearer(member))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"attendeeIds\":[\"" + member.getId() + "\",\"" + friend.getId() + "\"]}"));
+    }
+
+    @Test
+    void rateEvent() throws Exception {
+        book(member);
+        withinBudget(rate(4));
+        // Changing the rating takes the update path
+        evictSecondLevelCache();
+        withinBudget(rate(2));
+    }
+
+    @Test
+    void queryEvents() throws Exception {
+        withinBudget(get("/events/query?city=" + city + "&hasFreeSeats=true").header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void findByCategory() throws Exception {
+        withinBudget(get("/events/category/CONCERT").header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void getEventsByCity() throws Exception {
+        withinBudget(get("/events/city/" + city).header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void searchEvents() throws Exception {
+        withinBudget(get("/events/search?keyword=stage").header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void getEventsByDateAfter() throws Exception {
+        withinBudget(get("/events/date?date=" + LocalDate.now()).header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void getEventsByOrganizer() throws Exception {
+        withinBudget(get("/events/organizer").header("Authorization", bearer(admin)));
+    }
+
+    @Test
+    void getBookedEventsByUser() throws Exception {
+        book(member);
+        evictSecondLevelCache();
+        withinBudget(get("/events/bookings").header("Authorization", bearer(member)));
+    }
+
+    @Test
+    void getUsersByBookedEvent() throws Exception {
+        book(member);
+        book(createUser(Role.MEMBER));
+        evictSecondLevelCache();
+        withinBudget(get("/users/booked-event/" + eventId + "?size=1").header("Authorization", bearer(admin)));
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    void everyBudgetedEndpointIsCovered() {
+        Set<String> budgeted = handlerMapping.getHandlerMethods().values().stream()
+                .filter(handler -> handler.hasMethodAnnotation(QueryBudget.class))
+                .map(handler -> handler.getMethod().toGenericString())
+                .collect(Collectors.toSet());
+        Set<String> covered = COVERED.stream().map(Method::toGenericString).collect(Collectors.toSet());
+        assertThat(covered).containsExactlyInAnyOrderElementsOf(budgeted);
+    }
+
+    private void book(User user) throws Exception {
+        mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", bearer(user)));
+    }
+
+    private RequestBuilder rate(int rating) {
+        return post("/events/" + eventId + "/rate")
+                .header("Authorization", bearer(member))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":" + rating + "}");
+    }
+
+    // Strict mode already turns an overrun into a 500, the count is checked as well for streamed responses
+    private MvcResult withinBudget(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        HandlerMethod handler = (HandlerMethod) result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        COVERED.add(handler.getMethod());
+        assertThat(result.getResponse().getStatus())
+                .as(result.getResponse().getContentAsString())
+                .isEqualTo(200);
+
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        assertThat(budget).as("@QueryBudget on " + handler).isNotNull();
+        Integer statements = (Integer) result.getRequest().getAttribute(QueryBudgetFilter.STATEMENTS_ATTRIBUTE);
+        assertThat(statements).as("statements of " + handler.getMethod().getName()).isLessThanOrEqualTo(budget.value());
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.eventmanagerbackend.repository;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.querycount.QueryCountInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Counter updates leave the second-level cache of every other event and the cached catalog queries alone
+class EventCounterRepositoryTest extends IntegrationTest {
+    @Autowired
+    private EventRepository eventRepository;
+
+    private User member;
+    private String city;
+    private String booked;
+    private String other;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User admin = createUser(Role.ADMIN);
+        member = createUser(Role.MEMBER);
+        city = uniqueCity();
+        booked = createEvent(admin, city, 10);
+        other = createEvent(admin, city, 10);
+        evictSecondLevelCache();
+
+        assertThat(statements(() -> eventRepository.findByCity(city))).isPositive();
+        assertThat(statements(() -> eventRepository.findById(booked))).isZero();
+        assertThat(statements(() -> eventRepository.findByCity(city))).isZero();
+    }
+
+    @Test
+    void bookingEvictsOnlyTheBookedEvent() throws Exception {
+        mockMvc.perform(post("/events/" + booked + "/book").header("Authorization", bearer(member)))
+                .andExpect(status().isOk());
+
+        assertThat(statements(() -> eventRepository.findById(other))).isZero();
+        assertThat(eventRepository.findById(booked).orElseThrow().getCurrentParticipants()).isEqualTo(1);
+        // The cached result of the query is still valid, both events come from the second-level cache
+        assertThat(statements(() -> eventRepository.findByCity(city))).isZero();
+        assertThat(eventRepository.findByCity(city))
+                .filteredOn(event -> event.getId().equals(booked))
+                .extracting(Event::getCurrentParticipants)
+                .containsExactly(1);
+    }
+
+    @Test
+    void ratingEvictsOnlyTheRatedEvent() throws Exception {
+        mockMvc.perform(post("/events/" + booked + "/book").header("Authorization", bearer(member)))
+                .andExpect(status().isOk());
+        eventRepository.findById(booked);
+        mockMvc.perform(post("/events/" + booked + "/rate")
+                        .header("Authorization", bearer(member))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":4}"))
+                .andExpect(status().isOk());
+
+        assertThat(statements(() -> eventRepository.findById(other))).isZero();
+        assertThat(eventRepository.findById(booked).orElseThrow())
+                .extracting(Event::getRatingCount, Event::getAverageRating, Event::getFourStarCount)
+                .containsExactly(1, 4.0f, 1);
+    }
+
+    @Test
+    void reservationEvictsTheCachedEvent() {
+        assertThat(eventRepository.reserveSeats(booked, 3)).isOne();
+
+        // The cached copy still says 0, the next read has to go to the database and caches the new counters
+        assertThat(statements(() -> assertThat(eventRepository.findById(booked).orElseThrow().getCurrentParticipants())
+                .isEqualTo(3))).isPositive();
+        assertThat(statements(() -> eventRepository.findById(booked))).isZero();
+        assertThat(statements(() -> eventRepository.findById(other))).isZero();
+    }
+
+    @Test
+    void failedReservationChangesNothing() {
+        assertThat(eventRepository.reserveSeats(booked, 11)).isZero();
+        assertThat(eventRepository.findById(booked).orElseThrow().getCurrentParticipants()).isZero();
+        assertThat(statements(() -> eventRepository.findByCity(city))).isZero();
+    }
+
+    private static int statements(Supplier<?> read) {
+        QueryCountInspector.start();
+        int statements;
+        try {
+            Object result = read.get();
+            if (result instanceof List<?> events) {
+                assertThat(events).hasSize(2);
+            }
+        } finally {
+            statements = QueryCountInspector.stop();
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.eventmanagerbackend.search;
+
+import com.example.eventmanagerbackend.entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writers change the same events at the same time, each event must end up with exactly the postings of
+// whichever change ran last. Every writer touches every event once, so a lost race is never repaired later.
+class EventSearchIndexTest {
+    private static final int WRITERS = 8;
+    private static final int EVENTS = 1000;
+    // Many terms per document keep each change running long enough for the writers to interleave
+    private static final String DESCRIPTION = IntStream.range(0, 100)
+            .mapToObj(word -> "word" + word)
+            .collect(Collectors.joining(" "));
+
+    @Test
+    void concurrentReindexesLeaveOnlyTheLastTitle() throws Exception {
+        EventSearchIndex index = new EventSearchIndex();
+        runConcurrently((writer, eventId) -> index.index(event(eventId, "title" + writer)));
+
+        Map<String, Integer> matchingTitles = new HashMap<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            index.search("title" + writer).forEach(hit -> matchingTitles.merge(hit.eventId(), 1, Integer::sum));
+        }
+        assertThat(matchingTitles).hasSize(EVENTS);
+        assertThat(matchingTitles.values()).containsOnly(1);
+    }
+
+    @Test
+    void removeRacingWithIndexLeavesNoStrayPostings() throws Exception {
+        EventSearchIndex index = new EventSearchIndex();
+        runConcurrently((writer, eventId) -> {
+            if (writer % 2 == 0) {
+                index.index(event(eventId, "title" + writer));
+            } else {
+                index.remove(eventId);
+            }
+        });
+        // Postings of an earlier title that survived the race would match the event again once it is back
+        for (int i = 0; i < EVENTS; i++) {
+            index.index(event("evt" + i, "fresh"));
+        }
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            assertThat(index.search("title" + writer)).as("title" + writer).isEmpty();
+        }
+        assertThat(index.search("fresh")).hasSize(EVENTS);
+    }
+
+    private interface Change {
+        void apply(int writer, String eventId);
+    }
+
+    private static void runConcurrently(Change change) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                int writer = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int event = 0; event < EVENTS; event++) {
+                        change.apply(writer, "evt" + event);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    private static Event event(String id, String title) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(title);
+        event.setCity("Nowhere");
+        event.setLocation("Main stage");
+        event.setDescription(DESCRIPTION);
+        event.setEventDate(LocalDate.of(2030, 1, 1));
+        return event;
+    }
+}
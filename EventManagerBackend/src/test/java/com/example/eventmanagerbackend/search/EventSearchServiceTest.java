@@ -0,0 +1,88 @@
+package com.example.eventmanagerbackend.search;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.dto.EventUpdateDto;
+import com.example.eventmanagerbackend.enums.EventCategory;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The index only follows committed changes
+class EventSearchServiceTest extends IntegrationTest {
+    @Autowired
+    private EventSearchService eventSearchService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolledBackUpdateLeavesIndexUnchanged() throws Exception {
+        String city = uniqueCity();
+        String eventId = createEvent(createUser(Role.ADMIN), city, 10);
+        String keyword = uniqueKeyword();
+
+        inTransaction(true, () -> eventService.updateEvent(update(eventId, city, keyword)));
+        assertThat(eventSearchService.search(keyword, 0, 10).getTotalElements()).isZero();
+
+        inTransaction(false, () -> eventService.updateEvent(update(eventId, city, keyword)));
+        assertThat(eventSearchService.search(keyword, 0, 10).getItems())
+                .extracting("id")
+                .containsExactly(eventId);
+    }
+
+    @Test
+    void rolledBackDeleteKeepsEventSearchable() throws Exception {
+        String city = uniqueCity();
+        String eventId = createEvent(createUser(Role.ADMIN), city, 10);
+        String keyword = uniqueKeyword();
+        inTransaction(false, () -> eventService.updateEvent(update(eventId, city, keyword)));
+
+        inTransaction(true, () -> eventService.deleteById(eventId));
+        assertThat(eventSearchService.search(keyword, 0, 10).getItems())
+                .extracting("id")
+                .containsExactly(eventId);
+
+        inTransaction(false, () -> eventService.deleteById(eventId));
+        assertThat(eventSearchService.search(keyword, 0, 10).getTotalElements()).isZero();
+    }
+
+    private void inTransaction(boolean rollback, Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            work.run();
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    // A single search term no other event contains
+    private static String uniqueKeyword() {
+        return "kw" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static EventUpdateDto update(String eventId, String city, String title) {
+        EventUpdateDto update = new EventUpdateDto();
+        update.setId(eventId);
+        update.setTitle(title);
+        update.setDescription("Updated by a test");
+        update.setEventDate(LocalDate.now().plusMonths(1));
+        update.setStartTime(LocalTime.of(20, 0));
+        update.setEndTime(LocalTime.of(22, 0));
+        update.setCity(city);
+        update.setLocation("Main stage");
+        update.setCategory(EventCategory.CONCERT);
+        update.setPrice(25);
+        update.setMaxParticipants(10);
+        return update;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.eventmanagerbackend.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.RevokedToken;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.RevokedTokenRepository;
+import com.example.eventmanagerbackend.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Rows written straight into revoked_tokens stand in for revocations made by another instance
+class TokenRevocationListTest extends IntegrationTest {
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private JwtPrincipalCache jwtPrincipalCache;
+
+    @Test
+    void logoutOnAnotherInstanceRevokesTheTokenHereAfterSync() throws Exception {
+        User user = createUser(Role.MEMBER);
+        String authorization = bearer(user);
+        mockMvc.perform(get("/events/bookings").header("Authorization", authorization))
+                .andExpect(status().isOk());
+
+        String accessToken = authorization.substring("Bearer ".length());
+        DecodedJWT jwt = JWT.decode(accessToken);
+        revokedTokenRepository.save(new RevokedToken(jwt.getId(), jwt.getExpiresAtAsInstant(), Instant.now()));
+        tokenRevocationList.sync();
+
+        assertThat(tokenRevocationList.isRevoked(jwt.getId())).isTrue();
+        // The principal cached by the first request is not trusted any more
+        assertThatThrownBy(() -> jwtPrincipalCache.resolve(accessToken)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void refreshTokenUsedOnAnotherInstanceIsRejectedBeforeSync() {
+        User user = createUser(Role.MEMBER);
+        String refreshToken = jwtIssuer.issueRefresh(user.getId());
+        DecodedJWT jwt = JWT.decode(refreshToken);
+        revokedTokenRepository.save(new RevokedToken(jwt.getId(), jwt.getExpiresAtAsInstant(), Instant.now()));
+
+        assertThatThrownBy(() -> authService.refresh(refreshToken)).isInstanceOf(JWTVerificationException.class);
+        assertThat(tokenRevocationList.isRevoked(jwt.getId())).isTrue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.eventmanagerbackend.security;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.admission.WaitingRoomService;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Role rules that live in WebSecurityConfig, method security is not enabled
+class WebSecurityConfigTest extends IntegrationTest {
+    @Test
+    void memberCannotImportEvents() throws Exception {
+        mockMvc.perform(post("/events/import")
+                        .header("Authorization", bearer(createUser(Role.MEMBER)))
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"Imported\"}\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void memberCannotDeleteAnEvent() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+
+        mockMvc.perform(delete("/events/" + eventId).header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/events/" + eventId).header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void onlyHealthIsOpenToAnonymousClients() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer(createUser(Role.MEMBER))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void memberCannotOpenOrCloseAWaitingRoom() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        String member = bearer(createUser(Role.MEMBER));
+
+        mockMvc.perform(put("/events/" + eventId + "/queue").header("Authorization", member))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/events/" + eventId + "/queue").header("Authorization", member))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void browserMayBookWithAQueueTicket() throws Exception {
+        mockMvc.perform(options("/events/" + UUID.randomUUID() + "/book")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:5173")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "authorization," + WaitingRoomService.TICKET_HEADER))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS,
+                        containsStringIgnoringCase(WaitingRoomService.TICKET_HEADER)));
+
+        // Without the exposed header the SPA cannot read how long to wait before polling again
+        mockMvc.perform(get("/").header(HttpHeaders.ORIGIN, "http://localhost:5173"))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void adminCannotBookAGroup() throws Exception {
+        User admin = createUser(Role.ADMIN);
+        String eventId = createEvent(admin, uniqueCity(), 10);
+
+        mockMvc.perform(post("/events/" + eventId + "/book-group")
+                        .header("Authorization", bearer(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"attendeeIds\":[\"" + admin.getId() + "\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void memberCannotReadStats() throws Exception {
+        String member = bearer(createUser(Role.MEMBER));
+        String admin = bearer(createUser(Role.ADMIN));
+
+        // Password hashing stats give away the BCrypt cost and hash time
+        for (String stats : List.of("/stats/seat-inventory", "/stats/token-cache", "/stats/event-cache",
+                "/stats/password-hashing")) {
+            mockMvc.perform(get(stats).header("Authorization", member))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get(stats).header("Authorization", admin))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.eventmanagerbackend.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.RevokedTokenRepository;
+import com.example.eventmanagerbackend.security.TokenRevocationList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthServiceTest extends IntegrationTest {
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void concurrentRefreshesWithOneTokenYieldOnePair() throws Exception {
+        User user = createUser(Role.MEMBER);
+        String refreshToken = jwtIssuer.issueRefresh(user.getId());
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        authService.refresh(refreshToken);
+                        return true;
+                    } catch (JWTVerificationException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+        }
+        long refreshed = 0;
+        for (Future<Boolean> result : results) {
+            refreshed += result.get() ? 1 : 0;
+        }
+        assertThat(refreshed).isEqualTo(1);
+    }
+
+    @Test
+    void logoutWithOnlyTheRefreshTokenRevokesItUntilItsOwnExpiry() throws Exception {
+        User user = createUser(Role.MEMBER);
+        String refreshToken = jwtIssuer.issueRefresh(user.getId());
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        DecodedJWT jwt = JWT.decode(refreshToken);
+        assertThat(revokedTokenRepository.findById(jwt.getId()).orElseThrow().getExpiresAt())
+                .isEqualTo(jwt.getExpiresAtAsInstant());
+        assertThatThrownBy(() -> authService.refresh(refreshToken)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenUntilItsOwnExpiry() throws Exception {
+        User user = createUser(Role.MEMBER);
+        String accessToken = bearer(user).substring("Bearer ".length());
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accessToken\":\"" + accessToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        DecodedJWT jwt = JWT.decode(accessToken);
+        assertThat(tokenRevocationList.isRevoked(jwt.getId())).isTrue();
+        assertThat(revokedTokenRepository.findById(jwt.getId()).orElseThrow().getExpiresAt())
+                .isEqualTo(jwt.getExpiresAtAsInstant());
+    }
+
+    @Test
+    void logoutIgnoresAnAccessTokenThatCannotBeUsedAnyway() throws Exception {
+        User user = createUser(Role.MEMBER);
+        String refreshToken = jwtIssuer.issueRefresh(user.getId());
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accessToken\":\"not-a-token\",\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        assertThat(tokenRevocationList.isRevoked(JWT.decode(refreshToken).getId())).isTrue();
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.eventmanagerbackend.service;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.Event;
+import com.example.eventmanagerbackend.entity.EventRating;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.BookingRepository;
+import com.example.eventmanagerbackend.repository.EventRatingRepository;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EventServiceTest extends IntegrationTest {
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventRatingRepository eventRatingRepository;
+    @MockitoSpyBean
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentFirstRatingsByOneUserStoreOneRating() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                int rating = i % 5 + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    eventService.rateEvent(eventId, member.getId(), rating);
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        List<EventRating> ratings = eventRatingRepository.findByEventId(eventId);
+        assertThat(ratings).hasSize(1);
+        int stored = ratings.getFirst().getRating();
+        evictSecondLevelCache();
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        assertThat(event.getRatingCount()).isEqualTo(1);
+        assertThat(event.getRatingSum()).isEqualTo(stored);
+        assertThat(event.getOneStarCount() + event.getTwoStarCount() + event.getThreeStarCount()
+                + event.getFourStarCount() + event.getFiveStarCount()).isEqualTo(1);
+        assertThat(event.getAverageRating()).isEqualTo((float) stored);
+    }
+
+    @Test
+    void invalidRatingsAreClientErrors() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        String member = bearer(createUser(Role.MEMBER));
+
+        rate(member, eventId, 6)
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Rating must be between 1 and 5"));
+        rate(member, UUID.randomUUID().toString(), 4)
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Event not found"));
+    }
+
+    @Test
+    void invertedQueryRangesAreBadRequests() throws Exception {
+        String member = bearer(createUser(Role.MEMBER));
+
+        mockMvc.perform(get("/events/query?dateFrom=2030-02-01&dateTo=2030-01-01").header("Authorization", member))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("dateFrom must not be after dateTo"));
+        mockMvc.perform(get("/events/query?minPrice=50&maxPrice=10").header("Authorization", member))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("minPrice must not be above maxPrice"));
+    }
+
+    @Test
+    void tamperedCursorIsABadRequest() throws Exception {
+        String member = bearer(createUser(Role.MEMBER));
+        String notAUuid = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2030-01-01|not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("%%%", notAUuid)) {
+            mockMvc.perform(get("/events/all").param("cursor", cursor).header("Authorization", member))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Invalid cursor"));
+        }
+    }
+
+    @Test
+    void groupBookingMustIncludeTheBooker() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        List<String> strangers = List.of(createUser(Role.MEMBER).getId(), createUser(Role.MEMBER).getId());
+
+        bookGroup(member, eventId, strangers)
+                .andExpect(status().isForbidden());
+
+        assertThat(bookingRepository.findBookedUserIds(eventId, strangers)).isEmpty();
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isZero();
+    }
+
+    @Test
+    void groupBookingRecordsTheBooker() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        User friend = createUser(Role.MEMBER);
+
+        bookGroup(member, eventId, List.of(friend.getId(), member.getId()))
+                .andExpect(status().isOk());
+
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            List<Object[]> bookings = entityManager.createQuery(
+                            "SELECT b.user.id, b.bookedBy.id FROM Booking b WHERE b.event.id = :eventId", Object[].class)
+                    .setParameter("eventId", eventId)
+                    .getResultList();
+            assertThat(bookings).extracting(booking -> booking[0])
+                    .containsExactlyInAnyOrder(member.getId(), friend.getId());
+            assertThat(bookings).extracting(booking -> booking[1]).containsOnly(member.getId());
+        }
+    }
+
+    @Test
+    void attendeeBookedSinceTheCheckIsABadRequest() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        User friend = createUser(Role.MEMBER);
+        eventService.bookEvent(eventId, friend.getId());
+        // The friend's booking lands between the already-booked check and the insert
+        doReturn(List.of()).when(bookingRepository).findBookedUserIds(eq(eventId), anyCollection());
+
+        bookGroup(member, eventId, List.of(member.getId(), friend.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Event already booked"));
+
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownAttendeeBooksNobody() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        User friend = createUser(Role.MEMBER);
+
+        bookGroup(member, eventId, List.of(member.getId(), friend.getId(), UUID.randomUUID().toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown attendee in group"));
+
+        assertThat(bookingRepository.findBookedUserIds(eventId, List.of(member.getId(), friend.getId()))).isEmpty();
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isZero();
+    }
+
+    @Test
+    void alreadyBookedAttendeeBooksNobody() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        User friend = createUser(Role.MEMBER);
+        User booked = createUser(Role.MEMBER);
+        eventService.bookEvent(eventId, booked.getId());
+
+        bookGroup(member, eventId, List.of(member.getId(), friend.getId(), booked.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Already booked: " + booked.getId()));
+
+        assertThat(bookingRepository.findBookedUserIds(eventId, List.of(member.getId(), friend.getId()))).isEmpty();
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isEqualTo(1);
+    }
+
+    @Test
+    void groupLargerThanTheFreeSeatsIsRejected() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 3);
+        eventService.bookEvent(eventId, createUser(Role.MEMBER).getId());
+        User member = createUser(Role.MEMBER);
+        List<String> group = List.of(member.getId(), createUser(Role.MEMBER).getId(), createUser(Role.MEMBER).getId());
+
+        bookGroup(member, eventId, group)
+                .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.findBookedUserIds(eventId, group)).isEmpty();
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isEqualTo(1);
+        // The two seats that are left still fit a smaller group
+        bookGroup(member, eventId, group.subList(0, 2))
+                .andExpect(status().isOk());
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isEqualTo(3);
+    }
+
+    @Test
+    void deletedUserCannotBookWithAStillValidToken() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), 10);
+        User member = createUser(Role.MEMBER);
+        String authorization = bearer(member);
+        userRepository.delete(member);
+
+        mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", authorization))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("User not found"));
+
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isZero();
+    }
+
+    private ResultActions rate(String bearer, String eventId, int rating) throws Exception {
+        return mockMvc.perform(post("/events/" + eventId + "/rate")
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\":" + rating + "}"));
+    }
+
+    private ResultActions bookGroup(User booker, String eventId, List<String> attendeeIds) throws Exception {
+        String ids = attendeeIds.stream().map(id -> "\"" + id + "\"").collect(Collectors.joining(","));
+        return mockMvc.perform(post("/events/" + eventId + "/book-group")
+                .header("Authorization", bearer(booker))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"attendeeIds\":[" + ids + "]}"));
+    }
+}
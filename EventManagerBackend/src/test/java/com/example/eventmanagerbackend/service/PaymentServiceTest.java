@@ -0,0 +1,63 @@
+package com.example.eventmanagerbackend.service;
+
+import com.example.eventmanagerbackend.dto.PaymentDto;
+import com.example.eventmanagerbackend.enums.PaymentStatus;
+import com.example.eventmanagerbackend.payment.PaymentProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against a gateway whose calls only finish when the test completes them
+class PaymentServiceTest {
+    private final List<CompletableFuture<Boolean>> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void slotIsHeldUntilTheGatewayCallFinishes() {
+        PaymentService paymentService = paymentService(Duration.ofMinutes(1));
+
+        CompletableFuture<PaymentStatus> first = paymentService.verifyPayment(new PaymentDto());
+        assertThat(paymentService.verifyPayment(new PaymentDto())).isCompletedWithValue(PaymentStatus.BUSY);
+
+        calls.getFirst().complete(true);
+        assertThat(first).isCompletedWithValue(PaymentStatus.APPROVED);
+        assertThat(paymentService.verifyPayment(new PaymentDto())).isNotDone();
+        assertThat(calls).hasSize(2);
+    }
+
+    @Test
+    void timeoutCancelsTheGatewayCall() {
+        PaymentService paymentService = paymentService(Duration.ofMillis(50));
+
+        assertThat(paymentService.verifyPayment(new PaymentDto()).join()).isEqualTo(PaymentStatus.TIMEOUT);
+        assertThat(calls.getFirst()).isCancelled();
+        assertThat(paymentService.verifyPayment(new PaymentDto())).isNotDone();
+    }
+
+    @Test
+    void gatewayFailureIsAnErrorNotADecline() {
+        PaymentService paymentService = paymentService(Duration.ofMinutes(1));
+
+        CompletableFuture<PaymentStatus> status = paymentService.verifyPayment(new PaymentDto());
+        calls.getFirst().completeExceptionally(new IllegalStateException("Gateway unavailable"));
+
+        assertThat(status).isCompletedWithValue(PaymentStatus.ERROR);
+        assertThat(paymentService.verifyPayment(new PaymentDto())).isNotDone();
+    }
+
+    private PaymentService paymentService(Duration timeout) {
+        PaymentProperties properties = new PaymentProperties();
+        properties.setTimeout(timeout);
+        properties.setMaxConcurrent(1);
+        return new PaymentService(paymentInfo -> {
+            CompletableFuture<Boolean> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }, properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.eventmanagerbackend.service;
+
+import com.example.eventmanagerbackend.IntegrationTest;
+import com.example.eventmanagerbackend.entity.User;
+import com.example.eventmanagerbackend.enums.Role;
+import com.example.eventmanagerbackend.repository.BookingRepository;
+import com.example.eventmanagerbackend.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Many more members than seats book the same event at once, none of them may get a seat that does not exist
+class SeatInventoryServiceTest extends IntegrationTest {
+    private static final int SEATS = 10;
+    private static final int MEMBERS = 40;
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentBookingsNeverOversell() throws Exception {
+        String eventId = createEvent(createUser(Role.ADMIN), uniqueCity(), SEATS);
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(createUser(Role.MEMBER));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(MEMBERS)) {
+            for (User member : members) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/events/" + eventId + "/book").header("Authorization", bearer(member)))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+        }
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> result : results) {
+            statuses.add(result.get());
+        }
+
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(SEATS);
+        assertThat(statuses).filteredOn(status -> status == 409).hasSize(MEMBERS - SEATS);
+        assertThat(eventRepository.findSeatCapacityById(eventId).orElseThrow().getCurrentParticipants()).isEqualTo(SEATS);
+        assertThat(bookingRepository.findBookedUserIds(eventId, members.stream().map(User::getId).toList())).hasSize(SEATS);
+    }
+}
@@ -0,0 +1,56 @@
+import axios, { AxiosError, InternalAxiosRequestConfig } from "axios";
+import {
+  ACCESS_TOKEN_IDENTIFIER,
+  REFRESH_TOKEN_IDENTIFIER,
+} from "@/context/AuthContext";
+import { getToken } from "@/lib/token";
+
+type RetriableRequest = InternalAxiosRequestConfig & { _retried?: boolean };
+
+// One refresh at a time, concurrent failures wait for the same new token
+let pendingRefresh: Promise<void> | null = null;
+
+const refreshTokens = async () => {
+  const refreshToken = localStorage.getItem(REFRESH_TOKEN_IDENTIFIER);
+  if (!refreshToken) {
+    throw new Error("No refresh token");
+  }
+  const response = await axios.post("http://localhost:8080/auth/refresh", {
+    refreshToken,
+  });
+  localStorage.setItem(ACCESS_TOKEN_IDENTIFIER, response.data.accessToken);
+  localStorage.setItem(REFRESH_TOKEN_IDENTIFIER, response.data.refreshToken);
+};
+
+// Access tokens are short-lived: when one is rejected, renew it once and replay the request
+export const installAuthInterceptor = () => {
+  axios.interceptors.response.use(undefined, async (error: AxiosError) => {
+    const request = error.config as RetriableRequest | undefined;
+    const status = error.response?.status;
+    if (
+      !request ||
+      request._retried ||
+      (status !== 401 && status !== 403) ||
+      request.url?.includes("/auth/") ||
+      !localStorage.getItem(REFRESH_TOKEN_IDENTIFIER)
+    ) {
+      return Promise.reject(error);
+    }
+
+    request._retried = true;
+    try {
+      pendingRefresh ??= refreshTokens().finally(() => {
+        pendingRefresh = null;
+      });
+      await pendingRefresh;
+    } catch {
+      localStorage.removeItem(ACCESS_TOKEN_IDENTIFIER);
+      localStorage.removeItem(REFRESH_TOKEN_IDENTIFIER);
+      window.location.assign("/login");
+      return Promise.reject(error);
+    }
+
+    request.headers.Authorization = getToken();
+    return axios(request);
+  });
+};
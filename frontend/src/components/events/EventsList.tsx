@@ -3,17 +3,18 @@ import Loading from "@/components/Loading";
 import { Button } from "@/components/ui/button";
 import { useAuth } from "@/hooks/useAuth";
 import { getToken } from "@/lib/token";
-import { Event } from "@/types/Event";
+import { Event, EventPage } from "@/types/Event";
 import { Role } from "@/types/Role";
-import { useQuery } from "@tanstack/react-query";
+import { useInfiniteQuery, useQuery } from "@tanstack/react-query";
 import axios from "axios";
 import { Link } from "react-router-dom";
 
-async function getAllEvents() {
+async function getEventsPage(cursor?: string) {
   const token = getToken();
-  const response = await axios.get<Event[]>(
+  const response = await axios.get<EventPage>(
     "http://localhost:8080/events/all",
     {
+      params: { cursor, size: 20 },
       headers: {
         Authorization: `${token}`,
         "Content-Type": "application/json",
@@ -44,14 +45,24 @@ type EventsListProps = {
 
 export function EventsList({ byUser }: EventsListProps) {
   const { role } = useAuth();
-  const {
-    data: events,
-    isLoading,
-    error,
-  } = useQuery({
+  const userEvents = useQuery({
     queryKey: ["events", role, byUser],
-    queryFn: !byUser ? getAllEvents : () => getUserEvents(role as Role),
+    queryFn: () => getUserEvents(role as Role),
+    enabled: !!byUser,
   });
+  const allEvents = useInfiniteQuery({
+    queryKey: ["events", "all"],
+    queryFn: ({ pageParam }) => getEventsPage(pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+    enabled: !byUser,
+  });
+
+  const events = byUser
+    ? userEvents.data
+    : allEvents.data?.pages.flatMap((page) => page.items);
+  const isLoading = byUser ? userEvents.isLoading : allEvents.isLoading;
+  const error = byUser ? userEvents.error : allEvents.error;
 
   if (isLoading) return <Loading />;
 
@@ -74,6 +85,16 @@ export function EventsList({ byUser }: EventsListProps) {
           <EventCard key={event.id} event={event} />
         ))}
       </div>
+      {!byUser && allEvents.hasNextPage && (
+        <div className="flex justify-center py-6">
+          <Button
+            onClick={() => allEvents.fetchNextPage()}
+            disabled={allEvents.isFetchingNextPage}
+          >
+            Load more
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
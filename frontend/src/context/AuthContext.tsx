@@ -1,9 +1,11 @@
 import { decodeJwt } from "@/lib/token";
 import { Role } from "@/types/Role";
+import axios from "axios";
 import { createContext, useState, PropsWithChildren } from "react";
 import { useNavigate } from "react-router-dom";
 
 export const ACCESS_TOKEN_IDENTIFIER = "token";
+export const REFRESH_TOKEN_IDENTIFIER = "refreshToken";
 
 type AuthState = {
   token?: string;
@@ -13,7 +15,7 @@ type AuthState = {
 };
 
 type AuthContext = AuthState & {
-  login?: (token: string) => void;
+  login?: (token: string, refreshToken: string) => void;
   logout?: VoidFunction;
 };
 
@@ -42,15 +44,27 @@ export const AuthProvider = ({ children }: PropsWithChildren) => {
   const [authState, setAuthState] = useState<AuthState>(getCurrentAuthState());
   const navigate = useNavigate();
 
-  const login = (token: string) => {
+  const login = (token: string, refreshToken: string) => {
     localStorage.setItem(ACCESS_TOKEN_IDENTIFIER, token);
+    localStorage.setItem(REFRESH_TOKEN_IDENTIFIER, refreshToken);
     const role = decodeJwt(token).a.at(0) as Role;
     const userId = decodeJwt(token).sub;
     setAuthState({ isAuthenticated: true, token, role, userId });
   };
 
   const logout = () => {
+    const token = localStorage.getItem(ACCESS_TOKEN_IDENTIFIER);
+    const refreshToken = localStorage.getItem(REFRESH_TOKEN_IDENTIFIER);
+    // Revoke both tokens server side, logging out locally does not wait for it.
+    // Sent in the body, the access token may already have expired.
+    axios
+      .post("http://localhost:8080/auth/logout", {
+        accessToken: token,
+        refreshToken,
+      })
+      .catch(() => undefined);
     localStorage.removeItem(ACCESS_TOKEN_IDENTIFIER);
+    localStorage.removeItem(REFRESH_TOKEN_IDENTIFIER);
     setAuthState({ token: undefined, role: undefined, isAuthenticated: false });
     navigate("/login", { replace: true });
   };
@@ -0,0 +1,35 @@
+import { useEffect, useState } from "react";
+
+export type EventLiveStatus = {
+  eventId: string;
+  maxParticipants: number;
+  currentParticipants: number;
+  seatsLeft: number;
+  averageRating: number;
+  ratingCount: number;
+};
+
+// Seat count and rating pushed by the server, the browser reconnects on its own after a dropped stream
+export const useLiveEventStatus = (eventId: string | undefined) => {
+  const [status, setStatus] = useState<EventLiveStatus>();
+  const [deleted, setDeleted] = useState(false);
+
+  useEffect(() => {
+    if (!eventId) return;
+
+    const source = new EventSource(
+      `http://localhost:8080/events/${eventId}/live`
+    );
+    source.addEventListener("status", (e) => {
+      setStatus(JSON.parse((e as MessageEvent<string>).data));
+    });
+    source.addEventListener("deleted", () => {
+      setDeleted(true);
+      source.close();
+    });
+
+    return () => source.close();
+  }, [eventId]);
+
+  return { status, deleted };
+};
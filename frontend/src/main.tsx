@@ -5,6 +5,9 @@ import "./index.css";
 import { QueryClientProvider } from "@tanstack/react-query";
 import { Toaster } from "sonner";
 import { queryClient } from "@/api/queryClient.ts";
+import { installAuthInterceptor } from "@/api/authInterceptor.ts";
+
+installAuthInterceptor();
 
 ReactDOM.createRoot(document.getElementById("root")!).render(
   <React.StrictMode>
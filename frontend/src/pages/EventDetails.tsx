@@ -1,6 +1,7 @@
 import Loading from "@/components/Loading";
 import { Button } from "@/components/ui/button";
 import { useAuth } from "@/hooks/useAuth";
+import { useLiveEventStatus } from "@/hooks/useLiveEventStatus";
 import { getToken } from "@/lib/token";
 import { Event } from "@/types/Event";
 import { EventCategory } from "@/types/EventCategory";
@@ -36,9 +37,24 @@ async function getEventDetails(eventId: string | undefined) {
   }
 }
 
+// The event detail is the same for everyone, whether the member booked it is asked separately
+async function getIsBooked(eventId: string | undefined) {
+  if (eventId) {
+    const token = getToken();
+    const path = `http://localhost:8080/events/${eventId}/booked`;
+    const response = await axios.get<boolean>(path, {
+      headers: {
+        Authorization: `${token}`,
+        "Content-Type": "application/json",
+      },
+    });
+    return response.data;
+  }
+}
+
 export function EventDetails() {
   const { id } = useParams();
-  const { userId } = useAuth();
+  const { role } = useAuth();
 
   const {
     data: event,
@@ -49,13 +65,23 @@ export function EventDetails() {
     queryFn: () => getEventDetails(id),
   });
 
-  const isBooked = event?.participants.some((p) => p.id === userId);
+  const { data: isBooked } = useQuery({
+    queryKey: ["event", id, "booked"],
+    queryFn: () => getIsBooked(id),
+    enabled: role === "MEMBER",
+  });
+
+  const { status, deleted } = useLiveEventStatus(id);
+  const isSoldOut = status?.seatsLeft === 0;
 
   if (isLoading) return <Loading />;
 
   if (error)
     return <div className="bg-red-600 text-white">{error.message}</div>;
 
+  if (deleted)
+    return <div className="bg-red-600 text-white">This event was cancelled</div>;
+
   if (!event) return <div className="bg-red-600 text-white">No Events</div>;
 
   return (
@@ -92,14 +118,30 @@ export function EventDetails() {
                 {formatCurrency(event.price)}
               </span>
               <span> / Person</span>
+              {status && (
+                <p className="text-lg">
+                  {status.seatsLeft} of {status.maxParticipants} seats left
+                </p>
+              )}
             </div>
+            {status && status.ratingCount > 0 && (
+              <div className="mb-6">
+                <p className="text-xl font-bold mb-2">Rating:</p>
+                <p className="text-lg">
+                  {status.averageRating.toFixed(1)} / 5 ({status.ratingCount}{" "}
+                  ratings)
+                </p>
+              </div>
+            )}
             <Button
               className="bg-purple-500 hover:bg-purple-700 text-white font-bold py-2 px-4 rounded focus:outline-none focus:shadow-outline"
               type="button"
-              disabled={isBooked}
+              disabled={isBooked || isSoldOut}
             >
               {isBooked ? (
                 <>BOOKED</>
+              ) : isSoldOut ? (
+                <>SOLD OUT</>
               ) : (
                 <Link to={`/event/${event.id}/payment`}>BUY TICKET</Link>
               )}
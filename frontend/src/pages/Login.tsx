@@ -31,7 +31,7 @@ export const Login = () => {
       });
       const data = await response.json();
       if (data && login) {
-        login(data.accessToken);
+        login(data.accessToken, data.refreshToken);
         navigate(`/`);
       } else {
         console.error("Login failed");
@@ -15,6 +15,10 @@ export type Event = {
   category: EventCategory;
   price: number;
   averageRating: number;
-  participants: User[];
   organizer: User;
 };
+
+export type EventPage = {
+  items: Event[];
+  nextCursor: string | null;
+};